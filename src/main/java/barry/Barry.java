@@ -2,15 +2,20 @@ package barry;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Scanner;
 
 import barry.commands.Command;
+import barry.commands.PagedResponse;
+import barry.commands.ResponseCache;
+import barry.commands.RunScript;
 import barry.data.TaskList;
+import barry.data.TaskListener;
 import barry.data.exceptions.BarryException;
 import barry.parser.CommandParser;
 import barry.storage.Storage;
-import barry.ui.Gui;
+import barry.tasks.Task;
 import barry.ui.Ui;
 
 /**
@@ -22,15 +27,31 @@ import barry.ui.Ui;
  * provided storage path; if loading fails, a concise error is shown and an empty
  * task list is used.
  * </p>
+ * <p>
+ * Tasks that have been done for longer than {@code barry.archive.days} days (a system
+ * property, 30 by default) are moved to the compressed archive right after loading,
+ * keeping the working list small.
+ * </p>
+ * <p>
+ * Responses to read-only commands such as {@code list} and {@code help} are kept in a
+ * {@link ResponseCache} and reused until the task list or the aliases change.
+ * </p>
+ * <p><b>Concurrency:</b> a single {@code Barry} may be shared by the CLI loop, the JavaFX
+ * thread and background jobs. {@link #getResponse(String)} can be called from any thread:
+ * parsing is read-only, each change to the {@link TaskList} is atomic, reads work on
+ * immutable snapshots, and saves are serialized. Commands from different threads may
+ * interleave with each other, but each one sees and leaves the list in a consistent state.
+ * </p>
  */
 public class Barry {
     private static final Path path = Paths.get(System.getProperty("user.home"), "Barry data", "Barry.txt");
 
+    // Days a task stays in the working list after being marked as done
+    private static final long ARCHIVE_AFTER_DAYS = Long.getLong("barry.archive.days", 30);
+
     // Print messages from Barry.Barry
     private final Ui ui;
 
-    private final Gui gui;
-
     // Store all tasks in the session
     private final TaskList taskList;
 
@@ -40,6 +61,9 @@ public class Barry {
     // Interact with local storage
     private final Storage storage;
 
+    // Responses of read-only commands, valid until the task list or aliases change
+    private final ResponseCache cache = new ResponseCache();
+
     public Barry() {
         this(Barry.path);
     }
@@ -47,15 +71,16 @@ public class Barry {
      * Creates a new {@code Barry.Barry} application bound to the given storage path.
      * <p>
      * The constructor initializes the UI, parser, and storage handler, then tries
-     * to load tasks from disk via {@link Storage#load()}. If loading fails with a
-     * {@link BarryException}, a loading error is printed and the task list starts empty.
+     * to load tasks from disk via {@link Storage#load()} and archives long-completed
+     * tasks via {@link Storage#archiveCompleted(TaskList, LocalDateTime)}. If loading fails
+     * with a {@link BarryException}, a loading error is printed and the task list starts empty;
+     * if archiving fails, its error is printed and the loaded tasks are kept.
      * </p>
      *
      * @param path the file path used to persist and load tasks
      */
     public Barry(Path path) {
         this.ui = new Ui();
-        this.gui = new Gui();
         this.parser = new CommandParser();
         this.storage = new Storage(path);
         TaskList stored = new TaskList();
@@ -63,9 +88,13 @@ public class Barry {
             stored = storage.load();
         } catch (BarryException e) {
             ui.showLoadingError();
-        } finally {
-            taskList = stored;
         }
+        try {
+            storage.archiveCompleted(stored, LocalDateTime.now().minusDays(ARCHIVE_AFTER_DAYS));
+        } catch (BarryException e) {
+            ui.showError(e.getMessage());
+        }
+        taskList = stored;
     }
 
     /**
@@ -75,7 +104,7 @@ public class Barry {
      * standard input, parses it into a {@link Command}, executes the command,
      * and continues until a command sets the {@code isExit} flag. Any
      * {@link BarryException} thrown during parsing or execution is caught and
-     * displayed through the {@link Ui}. A goodbye message is printed on exit.
+     * displayed through the {@link Ui}. The exit command prints the goodbye message.
      * </p>
      */
     public void run() {
@@ -89,35 +118,117 @@ public class Barry {
                 c.execute(taskList, ui, storage);
                 isExit = c.isExit;
             } catch (BarryException e) {
-                ArrayList<String> s = new ArrayList<>();
-                s.add("OOPS!!! " + e.getMessage());
-                ui.print(s);
+                ui.showError(e.getMessage());
             }
         }
-        ui.printGoodbye();
+    }
+
+    /**
+     * Runs the CLI as a pipeline, reading commands from standard input until {@code bye}
+     * or the end of input.
+     * <p>
+     * Output is the same as {@link #run()}, banner included, except that blank lines at the
+     * end of a response are dropped. Parsing, execution and printing happen on separate
+     * threads connected by bounded queues, and saves are deferred while more input is waiting
+     * (see {@link Pipeline}). This is meant for large amounts of piped input.
+     * </p>
+     */
+    public void runPipelined() {
+        new Pipeline(parser, taskList, storage, cache).run(System.in, System.out);
+    }
+
+    /**
+     * Runs every command in a script file and prints a summary without console framing.
+     * <p>
+     * Output of the individual commands is discarded and the data file is saved once at the
+     * end (see {@link RunScript}).
+     * </p>
+     *
+     * @param script the path of the script file
+     * @return the number of commands that failed, or {@code -1} if the script could not be run
+     */
+    public int runScript(Path script) {
+        try {
+            RunScript.Result result = new RunScript(script).run(taskList, storage);
+            StringBuilder summary = new StringBuilder();
+            new Ui(summary, false).printScriptSummary(script.toString(),
+                    result.getCommandCount(), result.getFailures());
+            System.out.println(summary);
+            return result.getFailures().size();
+        } catch (BarryException e) {
+            System.out.println("OOPS!!! " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Runs a command like {@link #getResponse(String)}, except that the tasks listed by
+     * {@code list} and {@code find} are rendered on demand, {@code pageSize} at a time.
+     *
+     * @param input    the command line
+     * @param pageSize the number of rows per page
+     * @return the response; any other command's response is a single page, which tells
+     *         whether the command ends the session (see {@link PagedResponse#isExit()})
+     * @throws BarryException if the command is invalid or fails
+     */
+    public PagedResponse getPagedResponse(String input, int pageSize) throws BarryException {
+        Command c = parser.parseCommand(input);
+        PagedResponse paged = c.paged(taskList, pageSize);
+        return paged != null ? paged : PagedResponse.of(cache.execute(c, taskList, storage), c.isExit);
     }
 
     public String getResponse(String input) throws BarryException {
 
         Command c = parser.parseCommand(input);
-        return c.execute(taskList, gui, storage);
+        return cache.execute(c, taskList, storage);
+
+    }
 
+    /**
+     * Returns the current tasks. Safe to call from any thread.
+     *
+     * @return an immutable snapshot of the tasks, in list order
+     */
+    public List<Task> getTasks() {
+        return taskList.getTasks();
     }
 
-    public String getGreeting() {
-        return gui.printGreetings(); // returns the greeting string for GUI
+    /**
+     * Starts reporting every change to the task list to {@code listener}.
+     *
+     * @param listener called on the thread that made each change
+     * @return the tasks the reported changes apply to (see {@link TaskList#subscribe(TaskListener)})
+     */
+    public List<Task> subscribe(TaskListener listener) {
+        return taskList.subscribe(listener);
+    }
+
+    public static String getGreeting() {
+        StringBuilder greeting = new StringBuilder();
+        new Ui(greeting, false).printGreetings(); // the greeting string for GUI
+        return greeting.toString();
     }
 
     /**
      * Program entry point.
      * <p>
      * Launches Barry.Barry with the default storage path {@code ../data/Barry.Barry.txt}
-     * (relative to the working directory).
+     * (relative to the working directory). With {@code --script <file>}, runs the commands in
+     * the file instead of reading standard input, and exits with status 1 if any failed.
+     * With {@code --pipeline}, reads standard input through {@link #runPipelined()}.
      * </p>
      *
-     * @param args command-line arguments (unused)
+     * @param args command-line arguments: none, {@code --pipeline} or {@code --script <file>}
      */
     public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--script")) {
+            int failures = new Barry(path).runScript(Paths.get(args[1]));
+            System.exit(failures == 0 ? 0 : 1);
+        }
+        if (args.length == 1 && args[0].equals("--pipeline")) {
+            new Barry(path).runPipelined();
+            return;
+        }
         new Barry(path).run();
     }
 }
@@ -0,0 +1,228 @@
+package barry;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import barry.commands.AddAlias;
+import barry.commands.Command;
+import barry.commands.DeleteAlias;
+import barry.commands.ResponseCache;
+import barry.commands.RunScript;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.parser.CommandParser;
+import barry.storage.Storage;
+import barry.ui.Ui;
+
+/**
+ * Runs the CLI as a three-stage pipeline, for input piped in at high rates.
+ * <p>
+ * The stages run on their own threads and hand work to each other through bounded
+ * queues, so a fast producer is slowed down instead of exhausting memory:
+ * </p>
+ * <ol>
+ *   <li><b>parse</b> – reads lines with a {@link BufferedReader} and parses them;</li>
+ *   <li><b>execute</b> – the only stage that touches the {@link TaskList}, running
+ *       commands one at a time in input order;</li>
+ *   <li><b>render</b> – frames each response as {@link barry.ui.Ui} would and writes it
+ *       to a buffered stream, flushing whenever it catches up with the input.</li>
+ * </ol>
+ * <p>
+ * Every stage is single-threaded and the queues are FIFO, so responses appear in input
+ * order. Commands that change how later lines are parsed ({@code alias add} and
+ * {@code alias rm}) and {@code source}, whose script may define aliases, act as a barrier:
+ * parsing waits until they have been executed.
+ * Saves are deferred while commands are queued and happen whenever the execute stage
+ * becomes idle, and at the end.
+ * </p>
+ */
+final class Pipeline {
+    private static final int CAPACITY = 1024;
+
+    /**
+     * A parsed line: either a command or the message of a parse error.
+     */
+    private static final class Parsed {
+        private final Command command;
+        private final String error;
+        // Counted down once the command has run, for commands that are barriers
+        private final CountDownLatch executed;
+
+        private Parsed(Command command, String error, CountDownLatch executed) {
+            this.command = command;
+            this.error = error;
+            this.executed = executed;
+        }
+    }
+
+    /**
+     * An executed command's response, ready to be framed.
+     */
+    private static final class Response {
+        private final String text;
+
+        private Response(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final Parsed END_OF_INPUT = new Parsed(null, null, null);
+    private static final Response END_OF_OUTPUT = new Response(null);
+
+    private final CommandParser parser;
+    private final TaskList taskList;
+    private final Storage storage;
+    private final ResponseCache cache;
+
+    private final BlockingQueue<Parsed> commands = new ArrayBlockingQueue<>(CAPACITY);
+    private final BlockingQueue<Response> responses = new ArrayBlockingQueue<>(CAPACITY);
+
+    /**
+     * Creates a pipeline over the given application state.
+     *
+     * @param parser   the parser for input lines
+     * @param taskList the task list the commands operate on
+     * @param storage  the storage handler used to persist the task list
+     * @param cache    renders responses, answering repeated read-only commands from memory
+     */
+    Pipeline(CommandParser parser, TaskList taskList, Storage storage, ResponseCache cache) {
+        this.parser = parser;
+        this.taskList = taskList;
+        this.storage = storage;
+        this.cache = cache;
+    }
+
+    /**
+     * Prints the greeting, then processes {@code in} until {@code bye} or the end of input.
+     *
+     * @param in  the command lines
+     * @param out where the greeting and the framed responses are written
+     */
+    void run(InputStream in, OutputStream out) {
+        Thread parse = new Thread(() -> parse(in), "barry-pipeline-parse");
+        // The parse stage may be blocked reading input after bye; it must not keep the JVM alive
+        parse.setDaemon(true);
+        Thread render = new Thread(() -> render(out), "barry-pipeline-render");
+
+        render.start();
+        parse.start();
+        try {
+            execute();
+            render.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parse(InputStream in) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Parsed p;
+                try {
+                    Command c = parser.parseCommand(line);
+                    p = new Parsed(c, null, isBarrier(c) ? new CountDownLatch(1) : null);
+                } catch (BarryException e) {
+                    p = new Parsed(null, e.getMessage(), null);
+                }
+                commands.put(p);
+                if (p.executed != null) {
+                    p.executed.await();
+                }
+                if (p.command != null && p.command.isExit) {
+                    return;
+                }
+            }
+            commands.put(END_OF_INPUT);
+        } catch (IOException e) {
+            commands.offer(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute() throws InterruptedException {
+        storage.beginBatch(0);
+        try {
+            while (true) {
+                Parsed p = commands.poll();
+                if (p == null) {
+                    // Idle: persist what has been done so far before waiting for more input
+                    storage.endBatch();
+                    storage.beginBatch(0);
+                    p = commands.take();
+                }
+                if (p == END_OF_INPUT) {
+                    return;
+                }
+                responses.put(new Response(respond(p)));
+                if (p.command != null && p.command.isExit) {
+                    return;
+                }
+            }
+        } finally {
+            storage.endBatch();
+            responses.put(END_OF_OUTPUT);
+        }
+    }
+
+    private String respond(Parsed p) {
+        if (p.error != null) {
+            return "OOPS!!! " + p.error;
+        }
+        try {
+            return cache.execute(p.command, taskList, storage);
+        } catch (BarryException e) {
+            return "OOPS!!! " + e.getMessage();
+        } finally {
+            if (p.executed != null) {
+                p.executed.countDown();
+            }
+        }
+    }
+
+    private void render(OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+        // Frames one response at a time; the writer is flushed only when the stage is idle
+        StringBuilder block = new StringBuilder();
+        Ui framer = new Ui(block, true);
+        try {
+            framer.printGreetings();
+            writer.append(block);
+            block.setLength(0);
+            while (true) {
+                Response response = responses.poll();
+                if (response == null) {
+                    writer.flush();
+                    response = responses.take();
+                }
+                if (response == END_OF_OUTPUT) {
+                    break;
+                }
+                framer.print(response.text);
+                writer.append(block);
+                block.setLength(0);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // Output closed (e.g., a broken pipe); nothing more can be shown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isBarrier(Command c) {
+        return c instanceof AddAlias || c instanceof DeleteAlias || c instanceof RunScript;
+    }
+}
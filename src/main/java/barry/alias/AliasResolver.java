@@ -0,0 +1,96 @@
+package barry.alias;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Compiles a set of alias definitions, flattening aliases that refer to other aliases.
+ * <p>
+ * When a template starts with the name of another alias (e.g., {@code alias dl2='dl_sun {1}'}),
+ * the aliases form a graph. It is walked depth-first once, when the aliases are loaded, and
+ * each template is {@linkplain AliasTemplate#inline(AliasTemplate) inlined} into the fully
+ * resolved template it refers to. Expanding an alias is therefore a single lookup however
+ * long its chain is. A template that starts with its own alias's name refers to the
+ * built-in command of that name, not to itself.
+ * </p>
+ * <p>
+ * Aliases that cannot be resolved, because they are part of a cycle, pass too few
+ * parameters to the alias they use, or use such an alias, are kept as
+ * {@linkplain AliasTemplate#broken(String, String) broken} templates whose error message
+ * is reported when they are used.
+ * </p>
+ */
+final class AliasResolver {
+    private final HashMap<String, String> templates;
+    private final HashMap<String, AliasTemplate> resolved = new HashMap<>();
+
+    // Aliases currently on the DFS path, in order
+    private final ArrayDeque<String> path = new ArrayDeque<>();
+
+    private AliasResolver(HashMap<String, String> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Compiles and flattens every alias.
+     *
+     * @param templates alias templates keyed by lower-cased alias name
+     * @return the resolved template of every alias, keyed by the same names
+     */
+    static HashMap<String, AliasTemplate> resolve(HashMap<String, String> templates) {
+        AliasResolver r = new AliasResolver(templates);
+        for (String name : templates.keySet()) {
+            r.visit(name);
+        }
+        return r.resolved;
+    }
+
+    private AliasTemplate visit(String name) {
+        AliasTemplate done = resolved.get(name);
+        if (done != null) {
+            return done;
+        }
+        String source = templates.get(name);
+        if (path.contains(name)) {
+            return AliasTemplate.broken(source, cycle(name));
+        }
+
+        AliasTemplate t = AliasTemplate.compile(source);
+        String next = t.firstWord();
+        if (next != null) {
+            next = next.toLowerCase();
+        }
+        // An alias named after the command it runs, e.g. find='find {1}', runs the built-in
+        if (next != null && !next.equals(name) && templates.containsKey(next)) {
+            path.addLast(name);
+            AliasTemplate target = visit(next);
+            path.removeLast();
+            if (target.getError() != null) {
+                t = AliasTemplate.broken(source, target.getError());
+            } else {
+                AliasTemplate inlined = t.inline(target);
+                t = inlined != null ? inlined : AliasTemplate.broken(source, "Alias '" + name
+                        + "' passes fewer than " + target.arity() + " parameters to alias '" + next + "'");
+            }
+        }
+        resolved.put(name, t);
+        return t;
+    }
+
+    /**
+     * Describes the cycle that closes at {@code name}, e.g. {@code "a -> b -> a"}.
+     */
+    private String cycle(String name) {
+        StringBuilder s = new StringBuilder("Aliases refer to each other in a cycle: ");
+        boolean isInCycle = false;
+        for (Iterator<String> it = path.iterator(); it.hasNext();) {
+            String n = it.next();
+            isInCycle = isInCycle || n.equals(name);
+            if (isInCycle) {
+                s.append(n).append(" -> ");
+            }
+        }
+        return s.append(name).toString();
+    }
+}
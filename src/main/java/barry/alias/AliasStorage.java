@@ -1,20 +1,34 @@
 package barry.alias;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Scanner;
 
+import barry.data.common.CommandRegex;
+import barry.data.exceptions.BarryException;
+
 
 /**
  * Loads and stores user-defined command aliases from a shell-like RC file.
@@ -33,14 +47,74 @@ import java.util.Scanner;
  *   <li>{@code alias dl_sun='deadline {1} /by ${sun}'}</li>
  * </ul>
  * <p>
- * Templates may contain at most one parameter placeholder {@code {1}} which is replaced by
- * the remainder of the user input after the alias token (using {@code split(" ", 2)} in
- * {@link AliasExpander}). Lines beginning with {@code #} and blank lines are ignored.
+ * A line {@code unalias <name>} removes an alias defined earlier in the file, so that
+ * {@link #add(String, String)} and {@link #delete(String)} can persist a change by
+ * appending one line instead of rewriting the file.
+ * </p>
+ * <p>
+ * Templates may contain positional placeholders {@code {1}} .. {@code {n}}, the
+ * placeholder {@code {*}} and macros such as {@code ${sun}} (see {@link AliasTemplate}).
+ * A template may start with the name of another alias. Each template is compiled, and
+ * chains of aliases flattened, when the aliases are loaded (see {@link AliasResolver}),
+ * so expansion never rescans a template or follows a chain.
+ * Lines beginning with {@code #} and blank lines are ignored, and so are aliases named after
+ * a built-in command: such a name always runs the built-in, just as {@code alias add}
+ * refuses it.
+ * </p>
+ * <p>
+ * Alias names and built-in command tags are also indexed in a {@link BkTree}, rebuilt
+ * whenever the aliases change, to {@linkplain #suggest(String) suggest} corrections
+ * for mistyped commands.
+ * </p>
+ * <p>
+ * The process normally uses one {@linkplain #getInstance() shared instance}, which watches
+ * the RC file and reloads it only when it changes on disk. Lookups read an immutable table
+ * that is swapped in as a whole on every change, so they never block and never touch disk.
+ * This class is safe for use by multiple threads.
  * </p>
  */
 public final class AliasStorage {
 
-    private final HashMap<String, String> templates = new HashMap<String, String>();
+    private static final String UNALIAS = "unalias ";
+
+    // Most suggestions offered for one mistyped command
+    private static final int MAX_SUGGESTIONS = 3;
+
+    /**
+     * An immutable set of aliases with their compiled, fully resolved templates,
+     * and an index of the words that may start a command.
+     */
+    private static final class Table {
+        private final HashMap<String, String> templates;
+        private final HashMap<String, AliasTemplate> compiled;
+        private final BkTree words;
+
+        private Table(HashMap<String, String> templates) {
+            this.templates = templates;
+            this.compiled = AliasResolver.resolve(templates);
+            ArrayList<String> all = new ArrayList<>(CommandRegex.tags());
+            all.addAll(templates.keySet());
+            this.words = new BkTree(all);
+        }
+    }
+
+    /**
+     * Lazily creates the shared instance on first use.
+     */
+    private static final class Holder {
+        private static final AliasStorage INSTANCE = new AliasStorage();
+
+        static {
+            INSTANCE.load();
+            INSTANCE.watch();
+        }
+    }
+
+    private volatile Table table = new Table(new HashMap<>());
+
+    // Incremented every time a new table is published
+    private volatile long version = 0;
+
     private Path rcPath = Paths.get(System.getProperty("user.home"), "Barry data", ".barryrc");
 
     public AliasStorage() {}
@@ -53,15 +127,29 @@ public final class AliasStorage {
         this.rcPath = rcPath;
     }
 
+    /**
+     * Returns the process-wide {@code AliasStorage} for the default RC file.
+     * <p>
+     * The first call loads the file and starts watching it; later calls return the
+     * same, already loaded instance.
+     * </p>
+     *
+     * @return the shared alias storage
+     */
+    public static AliasStorage getInstance() {
+        return Holder.INSTANCE;
+    }
+
     /**
      * Loads aliases from the RC file into memory.
      * <p>
-     * Existing aliases in memory are cleared first. If the file does not exist, no error is thrown.
+     * The aliases in memory are replaced as a whole once the file has been read.
+     * If the file does not exist, no error is thrown.
      * </p>
      */
-    public void load() {
+    public synchronized void load() {
         // Start fresh
-        templates.clear();
+        HashMap<String, String> templates = new HashMap<>();
 
         // 1) Best-effort: ensure parent directory exists
         try {
@@ -83,12 +171,12 @@ public final class AliasStorage {
         try {
             if (Files.notExists(rcPath)) {
                 try {
-                    this.loadDefault(); // fill 'templates' from classpath default (if present)
+                    this.loadDefault(templates); // fill 'templates' from classpath default (if present)
                 } catch (SecurityException se) {
                     // Classloader restricted — continue with empty templates
                 }
                 try {
-                    this.save(); // create the file with whatever we have (possibly empty)
+                    this.save(templates); // create the file with whatever we have (possibly empty)
                 } catch (SecurityException ignore) {
                     // Can't write file — okay, continue with in-memory templates only
                 }
@@ -98,29 +186,29 @@ public final class AliasStorage {
         }
 
         // 3) Read ~/.barryrc (UTF-8). Skip malformed lines, never throw.
-        try {
-            Scanner sc = new Scanner(new FileReader(rcPath.toFile()));
+        try (Scanner sc = new Scanner(new FileReader(rcPath.toFile(), UTF_8))) {
             while (sc.hasNextLine()) {
                 final String line = sc.nextLine();
-                // Your parseLine(...) is already defensive
-                parseLine(line);
+                // parseLine(...) is defensive
+                parseLine(line, templates);
             }
             // If underlying stream had IO errors, Scanner records it; ignoring by design.
-            if (sc.ioException() != null) {
-                // Optionally log sc.ioException()
-            }
         } catch (FileNotFoundException e) {
             // File missing/unreadable — leave templates as-is.
+        } catch (IOException e) {
+            // Unreadable — leave templates as-is.
         } catch (SecurityException e) {
             // No permission to read — leave templates as-is.
         }
+
+        publish(templates);
     }
 
 
     /**
      * Load the aliases from resources/config/default.barryrc
      */
-    private void loadDefault() {
+    private void loadDefault(HashMap<String, String> templates) {
         try {
             InputStream in = getClass()
                     .getClassLoader()
@@ -130,7 +218,7 @@ public final class AliasStorage {
             }
             try (Scanner sc = new Scanner(in, UTF_8)) {
                 while (sc.hasNextLine()) {
-                    parseLine(sc.nextLine());
+                    parseLine(sc.nextLine(), templates);
                 }
                 // If an IO error occurred during scanning, it will be available via sc.ioException()
             }
@@ -143,24 +231,24 @@ public final class AliasStorage {
      * Writes the current aliases to the RC file, overwriting any existing content.
      * <p>
      * Lines are emitted in the canonical form {@code alias name='template'}.
-     * This method is optional for basic usage, but useful if you later add in-app alias editing.
+     * This compacts a file that has grown through {@link #add(String, String)} and
+     * {@link #delete(String)}.
      * </p>
      */
-    public void save() {
+    public synchronized void save() {
+        save(table.templates);
+    }
+
+    private void save(HashMap<String, String> templates) {
         try {
             if (rcPath.getParent() != null) {
                 Files.createDirectories(rcPath.getParent());
             }
-            FileWriter writer = new FileWriter(rcPath.toFile(), /* append = */ false);
+            FileWriter writer = new FileWriter(rcPath.toFile(), UTF_8, /* append = */ false);
             writer.write("# Barry command aliases");
             writer.write(System.lineSeparator());
             for (HashMap.Entry<String, String> e : templates.entrySet()) {
-                writer.write("alias ");
-                writer.write(e.getKey());
-                writer.write("='");
-                writer.write(e.getValue());
-                writer.write("'");
-                writer.write(System.lineSeparator());
+                writer.write(definition(e.getKey(), e.getValue()));
             }
             writer.close();
         } catch (IOException e) {
@@ -168,13 +256,71 @@ public final class AliasStorage {
         }
     }
 
+    /**
+     * Starts a daemon thread that reloads the aliases whenever the RC file changes.
+     * <p>
+     * Best-effort: if the file system cannot be watched, the aliases simply stay as loaded.
+     * </p>
+     */
+    void watch() {
+        Path dir = rcPath.toAbsolutePath().getParent();
+        if (dir == null) {
+            return;
+        }
+        try {
+            WatchService watcher = dir.getFileSystem().newWatchService();
+            dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            Thread t = new Thread(() -> poll(watcher), "barry-alias-watcher");
+            t.setDaemon(true);
+            t.start();
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // Cannot watch — keep the aliases loaded at startup
+        }
+    }
+
+    private void poll(WatchService watcher) {
+        Path name = rcPath.getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watcher.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean isChanged = false;
+            for (WatchEvent<?> e : key.pollEvents()) {
+                if (e.kind() == OVERFLOW || name.equals(e.context())) {
+                    isChanged = true;
+                }
+            }
+            if (isChanged) {
+                load();
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of times the aliases have changed since this storage was created.
+     * <p>
+     * Two equal readings mean every alias lookup in between saw the same table.
+     * </p>
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Returns a copy of the current alias map keyed by lower-cased alias names.
      *
      * @return a defensive copy of aliases in memory
      */
     public HashMap<String, String> view() {
-        return new HashMap<String, String>(templates);
+        return new HashMap<String, String>(table.templates);
     }
 
     /**
@@ -187,7 +333,46 @@ public final class AliasStorage {
         if (name == null) {
             return null;
         }
-        return templates.get(name.toLowerCase());
+        return table.templates.get(name.toLowerCase());
+    }
+
+    /**
+     * Gets the compiled template for the given alias name.
+     * <p>
+     * The template is fully resolved: if the alias refers to other aliases, they are already
+     * expanded into it. An alias that cannot be resolved yields a template with an
+     * {@linkplain AliasTemplate#getError() error}.
+     * </p>
+     *
+     * @param name the alias name (case-insensitive)
+     * @return the compiled template if present, or {@code null} otherwise
+     */
+    public AliasTemplate getCompiled(String name) {
+        if (name == null) {
+            return null;
+        }
+        return table.compiled.get(name.toLowerCase());
+    }
+
+    /**
+     * Suggests built-in commands and aliases whose names are close to a mistyped word.
+     * <p>
+     * A word of two or three characters may be one edit away from a suggestion, and a longer
+     * word two edits; single characters get no suggestions. At most three suggestions are
+     * returned, nearest first.
+     * </p>
+     *
+     * @param word the unrecognized first word of a command (case-insensitive)
+     * @return the suggested command or alias names; empty if none is close enough
+     */
+    public List<String> suggest(String word) {
+        String w = word.toLowerCase();
+        int maxDistance = w.length() <= 1 ? 0 : w.length() <= 3 ? 1 : 2;
+        if (maxDistance == 0) {
+            return List.of();
+        }
+        List<String> found = table.words.search(w, maxDistance);
+        return found.subList(0, Math.min(found.size(), MAX_SUGGESTIONS));
     }
 
     /**
@@ -196,11 +381,13 @@ public final class AliasStorage {
      * @param name     the alias name (case-insensitive)
      * @param template the template to store
      */
-    public void put(String name, String template) {
+    public synchronized void put(String name, String template) {
         if (name == null || template == null) {
             return;
         }
+        HashMap<String, String> templates = new HashMap<>(table.templates);
         templates.put(name.toLowerCase(), template);
+        publish(templates);
     }
 
     /**
@@ -208,21 +395,81 @@ public final class AliasStorage {
      *
      * @param name the alias name (case-insensitive)
      */
-    public void remove(String name) {
+    public synchronized void remove(String name) {
         if (name == null) {
             return;
         }
+        HashMap<String, String> templates = new HashMap<>(table.templates);
         templates.remove(name.toLowerCase());
+        publish(templates);
+    }
+
+    /**
+     * Adds or replaces an alias and appends its definition to the RC file.
+     *
+     * @param name     the alias name (case-insensitive)
+     * @param template the template to store
+     * @throws BarryException if the RC file cannot be written
+     */
+    public synchronized void add(String name, String template) throws BarryException {
+        append(definition(name.toLowerCase(), template));
+        put(name, template);
     }
 
     /**
-     * Parses one RC line in the form {@code alias name='template'}; ignores comments/blank lines.
+     * Removes an alias and records the removal in the RC file.
+     *
+     * @param name the alias name (case-insensitive)
+     * @return the template the alias stood for
+     * @throws BarryException if there is no such alias, or the RC file cannot be written
      */
-    private void parseLine(String line) {
+    public synchronized String delete(String name) throws BarryException {
+        String template = get(name);
+        if (template == null) {
+            throw BarryException.aliasNotFound(name);
+        }
+        append(UNALIAS + name.toLowerCase() + System.lineSeparator());
+        remove(name);
+        return template;
+    }
+
+    private void append(String line) throws BarryException {
+        try {
+            if (rcPath.getParent() != null) {
+                Files.createDirectories(rcPath.getParent());
+            }
+            try (Writer writer = new FileWriter(rcPath.toFile(), UTF_8, /* append = */ true)) {
+                writer.write(line);
+            }
+        } catch (IOException e) {
+            throw BarryException.aliasFileUnavailable();
+        }
+    }
+
+    /** Formats one alias as an RC line, including the line separator. */
+    private static String definition(String name, String template) {
+        return "alias " + name + "='" + template + "'" + System.lineSeparator();
+    }
+
+    /** Swaps in a new table built from {@code templates}. */
+    private void publish(HashMap<String, String> templates) {
+        this.table = new Table(templates);
+        this.version++;
+    }
+
+    /**
+     * Parses one RC line in the form {@code alias name='template'} or {@code unalias name};
+     * ignores comments/blank lines.
+     */
+    private static void parseLine(String line, HashMap<String, String> templates) {
         String s = line.trim();
         if (s.isEmpty() || s.startsWith("#")) {
             return;
         }
+        if (s.startsWith(UNALIAS)) {
+            templates.remove(s.substring(UNALIAS.length()).trim().toLowerCase());
+            return;
+        }
         if (!s.startsWith("alias ")) {
             return;
         }
@@ -236,7 +483,7 @@ public final class AliasStorage {
 
         String name = body.substring(0, eq).trim().toLowerCase();
         String rhs = body.substring(eq + 1).trim();
-        if (rhs.length() < 2) {
+        if (rhs.length() < 2 || CommandRegex.isTag(name)) {
             return;
         }
 
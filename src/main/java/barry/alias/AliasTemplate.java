@@ -0,0 +1,346 @@
+package barry.alias;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * An alias template compiled into a flat list of tokens.
+ * <p>
+ * A template such as {@code deadline {1} /by ${sun}} is scanned once, when it is
+ * loaded, into literal text, parameter slots and macros. Expanding it is then a
+ * single append pass over those tokens, with no searching or replacing of strings.
+ * </p>
+ * <ul>
+ *   <li><b>{@code {1}} .. {@code {n}}</b> – positional parameters. Each slot takes one
+ *       whitespace-delimited word of the input, except the highest-numbered slot, which
+ *       takes the rest of the input. A template with only {@code {1}} therefore receives
+ *       the whole remainder, as before.</li>
+ *   <li><b>{@code {*}}</b> – the whole remainder of the input, which may be empty.</li>
+ *   <li><b>{@code ${name}}</b> – a macro, resolved at expansion time. Unknown macros are
+ *       kept verbatim.</li>
+ * </ul>
+ * <p>
+ * A template whose first word is another alias can be {@linkplain #inline(AliasTemplate)
+ * inlined} into that alias's template, so chains of aliases are expanded in one step.
+ * A template may also be {@linkplain #broken(String, String) broken}, recording why its
+ * alias cannot be used. Instances are immutable and may be shared between threads.
+ * </p>
+ */
+public final class AliasTemplate {
+    private static final int LITERAL = 0;
+    private static final int SLOT = 1;
+    private static final int REST = 2;
+    private static final int MACRO = 3;
+
+    /**
+     * One piece of a template: literal text, a slot, {@code {*}} or a macro name.
+     */
+    private static final class Token {
+        private final int kind;
+        private final String text;
+        private final int slot;
+
+        private Token(int kind, String text, int slot) {
+            this.kind = kind;
+            this.text = text;
+            this.slot = slot;
+        }
+
+        private boolean isSpace() {
+            return kind == LITERAL && Character.isWhitespace(text.charAt(0));
+        }
+    }
+
+    private final String source;
+    private final Token[] tokens;
+    private final int arity;
+    private final String error;
+
+    private AliasTemplate(String source, Token[] tokens, int arity, String error) {
+        this.source = source;
+        this.tokens = tokens;
+        this.arity = arity;
+        this.error = error;
+    }
+
+    /**
+     * Compiles a template string.
+     *
+     * @param template the template, e.g. {@code "deadline {1} /by ${sun}"}
+     * @return the compiled template
+     */
+    public static AliasTemplate compile(String template) {
+        ArrayList<Token> tokens = new ArrayList<>();
+        int arity = 0;
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int n = template.length();
+        while (i < n) {
+            char c = template.charAt(i);
+            int close = -1;
+            int kind = LITERAL;
+            int slot = 0;
+            if (c == '{') {
+                close = template.indexOf('}', i + 1);
+                if (close == i + 2 && template.charAt(i + 1) == '*') {
+                    kind = REST;
+                } else if (close > i + 1 && isDigits(template, i + 1, close)) {
+                    slot = Integer.parseInt(template.substring(i + 1, close));
+                    kind = slot > 0 ? SLOT : LITERAL;
+                }
+            } else if (c == '$' && i + 1 < n && template.charAt(i + 1) == '{') {
+                close = template.indexOf('}', i + 2);
+                if (close > i + 2) {
+                    kind = MACRO;
+                }
+            }
+
+            if (kind == LITERAL) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (literal.length() > 0) {
+                tokens.add(new Token(LITERAL, literal.toString(), 0));
+                literal.setLength(0);
+            }
+            tokens.add(new Token(kind, kind == MACRO ? template.substring(i + 2, close) : null, slot));
+            arity = Math.max(arity, slot);
+            i = close + 1;
+        }
+        if (literal.length() > 0) {
+            tokens.add(new Token(LITERAL, literal.toString(), 0));
+        }
+        return new AliasTemplate(template, tokens.toArray(new Token[0]), arity, null);
+    }
+
+    /**
+     * Returns a template that cannot be expanded, for an alias that is defined but unusable.
+     *
+     * @param template the template as written
+     * @param error    explains why the alias cannot be used
+     * @return the broken template
+     */
+    public static AliasTemplate broken(String template, String error) {
+        return new AliasTemplate(template, new Token[0], 0, error);
+    }
+
+    /**
+     * Returns the number of positional parameters this template needs,
+     * i.e. its highest-numbered slot.
+     *
+     * @return the number of required parameters, or {@code 0} if there are none
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * @return why this alias cannot be used, or {@code null} if it can
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns the first word of the template if it is plain text, e.g. {@code "deadline"}.
+     *
+     * @return the first word, or {@code null} if the template starts with a slot or macro
+     */
+    public String firstWord() {
+        if (tokens.length == 0 || tokens[0].kind != LITERAL) {
+            return null;
+        }
+        String text = tokens[0].text;
+        int end = 0;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        if (end == 0 || (end == text.length() && tokens.length > 1)) {
+            // Empty, or the word continues into a slot or macro
+            return null;
+        }
+        return text.substring(0, end);
+    }
+
+    /**
+     * Substitutes the rest of this template into {@code target}, the template of the alias
+     * named by this template's {@linkplain #firstWord() first word}.
+     * <p>
+     * The words after the first are bound to {@code target}'s parameters exactly as typed
+     * input would be (see {@link #bind(String)}), except that each slot, {@code {*}} and
+     * macro of this template is kept whole, as part of a single word. The result expands
+     * in one step to what expanding this template and then {@code target} would produce,
+     * and needs the same parameters as this template. A template that is nothing but the
+     * other alias's name is a plain rename and takes {@code target}'s parameters instead.
+     * </p>
+     *
+     * @param target the compiled template of the alias this template refers to
+     * @return the combined template, or {@code null} if this template passes fewer words
+     *     than {@code target} has parameters
+     */
+    public AliasTemplate inline(AliasTemplate target) {
+        // Everything after the first word, one unit per character or non-literal token
+        ArrayList<Token> units = new ArrayList<>();
+        String first = firstWord();
+        for (int i = 0; i < tokens.length; i++) {
+            Token t = tokens[i];
+            if (t.kind != LITERAL) {
+                units.add(t);
+                continue;
+            }
+            int from = i == 0 ? first.length() : 0;
+            for (int j = from; j < t.text.length(); j++) {
+                units.add(new Token(LITERAL, String.valueOf(t.text.charAt(j)), 0));
+            }
+        }
+        int end = units.size();
+        while (end > 0 && units.get(end - 1).isSpace()) {
+            end--;
+        }
+        if (end == 0) {
+            return new AliasTemplate(source, target.tokens, target.arity, null);
+        }
+
+        // Bind the target's parameters to ranges of units
+        int[] starts = new int[target.arity];
+        int[] ends = new int[target.arity];
+        int i = 0;
+        for (int p = 0; p < target.arity; p++) {
+            while (i < end && units.get(i).isSpace()) {
+                i++;
+            }
+            if (i == end) {
+                return null;
+            }
+            starts[p] = i;
+            if (p == target.arity - 1) {
+                ends[p] = end;
+                break;
+            }
+            while (i < end && !units.get(i).isSpace()) {
+                i++;
+            }
+            ends[p] = i;
+        }
+        int restStart = 0;
+        while (restStart < end && units.get(restStart).isSpace()) {
+            restStart++;
+        }
+
+        ArrayList<Token> merged = new ArrayList<>();
+        for (Token t : target.tokens) {
+            switch (t.kind) {
+            case SLOT:
+                append(merged, units.subList(starts[t.slot - 1], ends[t.slot - 1]));
+                break;
+            case REST:
+                append(merged, units.subList(restStart, end));
+                break;
+            default:
+                append(merged, List.of(t));
+            }
+        }
+        return new AliasTemplate(source, merged.toArray(new Token[0]), arity, null);
+    }
+
+    /**
+     * Splits the input that follows an alias name into this template's parameters.
+     * <p>
+     * Returns an array of length {@link #arity()}, where every element but the last is a
+     * single word and the last is the rest of {@code args}, trimmed.
+     * </p>
+     *
+     * @param args the input after the alias name
+     * @return the parameters, or {@code null} if there are fewer words than slots
+     */
+    public String[] bind(String args) {
+        String[] params = new String[arity];
+        int i = 0;
+        int n = args.length();
+        for (int p = 0; p < arity; p++) {
+            while (i < n && Character.isWhitespace(args.charAt(i))) {
+                i++;
+            }
+            if (i == n) {
+                return null;
+            }
+            if (p == arity - 1) {
+                params[p] = args.substring(i).trim();
+                break;
+            }
+            int start = i;
+            while (i < n && !Character.isWhitespace(args.charAt(i))) {
+                i++;
+            }
+            params[p] = args.substring(start, i);
+        }
+        return params;
+    }
+
+    /**
+     * Appends the expansion of this template to {@code out}.
+     *
+     * @param out    the buffer to append to
+     * @param params the bound parameters (see {@link #bind(String)})
+     * @param rest   the whole input after the alias name, substituted for {@code {*}}
+     * @param macros resolves a macro name to its value, or {@code null} if unknown
+     */
+    public void expandInto(StringBuilder out, String[] params, String rest, UnaryOperator<String> macros) {
+        for (Token t : tokens) {
+            switch (t.kind) {
+            case LITERAL:
+                out.append(t.text);
+                break;
+            case SLOT:
+                out.append(params[t.slot - 1]);
+                break;
+            case REST:
+                out.append(rest);
+                break;
+            case MACRO:
+                String value = macros.apply(t.text);
+                if (value == null) {
+                    out.append("${").append(t.text).append('}');
+                } else {
+                    out.append(value);
+                }
+                break;
+            default:
+                assert false : "unreachable: unknown token kind " + t.kind;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /** Appends tokens, joining adjacent literals. */
+    private static void append(ArrayList<Token> out, List<Token> tokens) {
+        for (Token t : tokens) {
+            int last = out.size() - 1;
+            if (t.kind == LITERAL && last >= 0 && out.get(last).kind == LITERAL) {
+                out.set(last, new Token(LITERAL, out.get(last).text + t.text, 0));
+            } else {
+                out.add(t);
+            }
+        }
+    }
+
+    private static boolean isDigits(String s, int from, int to) {
+        if (to - from > 9) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
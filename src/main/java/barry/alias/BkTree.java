@@ -0,0 +1,130 @@
+package barry.alias;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A BK-tree of words, for finding the words within a small edit distance of a given word.
+ * <p>
+ * Every child of a node is stored under its Levenshtein distance to that node. Because the
+ * distance is a metric, a search for words within {@code k} of a query only has to descend
+ * into children whose distance is within {@code k} of the query's distance to the node, so
+ * most of the tree is never visited. The tree is built once and is immutable afterwards,
+ * so it may be shared between threads.
+ * </p>
+ */
+final class BkTree {
+
+    /**
+     * A word and its children, indexed by their distance to it.
+     */
+    private static final class Node {
+        private final String word;
+        private Node[] children = new Node[0];
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+
+    private final Node root;
+
+    /**
+     * Builds a tree of the given words. Duplicates are stored once.
+     *
+     * @param words the words to index
+     */
+    BkTree(Collection<String> words) {
+        Node r = null;
+        for (String w : words) {
+            if (r == null) {
+                r = new Node(w);
+            } else {
+                insert(r, w);
+            }
+        }
+        this.root = r;
+    }
+
+    /**
+     * Returns the words within {@code maxDistance} edits of {@code word}, nearest first
+     * and in alphabetical order among equally near words.
+     *
+     * @param word        the word to look up
+     * @param maxDistance the largest number of single-character insertions, deletions and
+     *                    substitutions allowed
+     * @return the matching words; empty if there are none
+     */
+    List<String> search(String word, int maxDistance) {
+        // One bucket per distance, so the result comes out ordered by distance
+        ArrayList<ArrayList<String>> buckets = new ArrayList<>();
+        for (int d = 0; d <= maxDistance; d++) {
+            buckets.add(new ArrayList<>());
+        }
+        if (root != null) {
+            search(root, word, maxDistance, buckets);
+        }
+        ArrayList<String> found = new ArrayList<>();
+        for (ArrayList<String> bucket : buckets) {
+            Collections.sort(bucket);
+            found.addAll(bucket);
+        }
+        return found;
+    }
+
+    private static void insert(Node node, String word) {
+        while (true) {
+            int d = distance(node.word, word);
+            if (d == 0) {
+                return;
+            }
+            if (d >= node.children.length) {
+                node.children = Arrays.copyOf(node.children, d + 1);
+            }
+            if (node.children[d] == null) {
+                node.children[d] = new Node(word);
+                return;
+            }
+            node = node.children[d];
+        }
+    }
+
+    private static void search(Node node, String word, int max, List<ArrayList<String>> buckets) {
+        int d = distance(node.word, word);
+        if (d <= max) {
+            buckets.get(d).add(node.word);
+        }
+        int to = Math.min(d + max, node.children.length - 1);
+        for (int i = Math.max(d - max, 1); i <= to; i++) {
+            if (node.children[i] != null) {
+                search(node.children[i], word, max, buckets);
+            }
+        }
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words, using two rows of the usual table.
+     */
+    static int distance(String a, String b) {
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = c == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev;
+            prev = curr;
+            curr = t;
+        }
+        return prev[b.length()];
+    }
+}
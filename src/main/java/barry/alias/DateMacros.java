@@ -0,0 +1,138 @@
+package barry.alias;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import barry.data.common.Formats;
+
+/**
+ * Registry of the date macros that can appear in alias templates, e.g. {@code ${eow}}.
+ * <p>
+ * Every macro names a day relative to today and renders as that day at {@code 23:59},
+ * formatted using {@link Formats#CMD_DATETIME}. The built-in macros are:
+ * </p>
+ * <ul>
+ *   <li><b>{@code today}</b>, <b>{@code tomorrow}</b></li>
+ *   <li><b>{@code eow}</b> (alias {@code sun}) – the upcoming Sunday, today if it is Sunday</li>
+ *   <li><b>{@code eom}</b> – the last day of the current month</li>
+ *   <li><b>{@code +Nd}</b> – {@code N} days from today, e.g. {@code ${+3d}}</li>
+ * </ul>
+ * <p>
+ * Rendered values are cached for the current day of the injected {@link Clock}; the cache is
+ * dropped the first time a macro is resolved after midnight. Expanding a macro is therefore
+ * a clock read and a map lookup. This class is safe for use by multiple threads.
+ * </p>
+ */
+public final class DateMacros {
+    private static final DateTimeFormatter OUT_FMT = DateTimeFormatter.ofPattern(Formats.CMD_DATETIME);
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    private final Clock clock;
+    private final ConcurrentHashMap<String, UnaryOperator<LocalDate>> macros = new ConcurrentHashMap<>();
+
+    private volatile Cache cache = new Cache(null);
+
+    /**
+     * The rendered values for one day.
+     */
+    private static final class Cache {
+        private final LocalDate day;
+        private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+
+        private Cache(LocalDate day) {
+            this.day = day;
+        }
+    }
+
+    /**
+     * Creates a registry of the built-in macros that uses the system clock.
+     */
+    public DateMacros() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a registry of the built-in macros that uses the given clock.
+     *
+     * @param clock the clock that defines "today"
+     */
+    public DateMacros(Clock clock) {
+        this.clock = clock;
+        register("today", d -> d);
+        register("tomorrow", d -> d.plusDays(1));
+        register("eow", d -> d.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+        register("sun", d -> d.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+        register("eom", d -> d.with(TemporalAdjusters.lastDayOfMonth()));
+    }
+
+    /**
+     * Adds or replaces a macro.
+     *
+     * @param name the macro name, as written between {@code ${} and {@code }}
+     * @param day  maps today to the day the macro stands for
+     */
+    public void register(String name, UnaryOperator<LocalDate> day) {
+        macros.put(name, day);
+        this.cache = new Cache(null);
+    }
+
+    /**
+     * Returns the rendered value of a macro for the current day.
+     *
+     * @param name the macro name (e.g., {@code "eow"} or {@code "+3d"})
+     * @return the day the macro stands for at {@code 23:59}, or {@code null} if the macro is unknown
+     */
+    public String resolve(String name) {
+        LocalDate today = LocalDate.now(clock);
+        Cache c = this.cache;
+        if (!today.equals(c.day)) {
+            c = new Cache(today);
+            this.cache = c;
+        }
+        String value = c.values.get(name);
+        if (value == null) {
+            value = render(name, today);
+            if (value != null) {
+                c.values.put(name, value);
+            }
+        }
+        return value;
+    }
+
+    private String render(String name, LocalDate today) {
+        UnaryOperator<LocalDate> day = macros.get(name);
+        if (day != null) {
+            return day.apply(today).atTime(END_OF_DAY).format(OUT_FMT);
+        }
+        int days = parseOffset(name);
+        if (days >= 0) {
+            return today.plusDays(days).atTime(END_OF_DAY).format(OUT_FMT);
+        }
+        return null;
+    }
+
+    /**
+     * Parses {@code +Nd} into {@code N}, or returns {@code -1} if {@code name} is not of that form.
+     */
+    private static int parseOffset(String name) {
+        int n = name.length();
+        if (n < 3 || n > 7 || name.charAt(0) != '+' || name.charAt(n - 1) != 'd') {
+            return -1;
+        }
+        int days = 0;
+        for (int i = 1; i < n - 1; i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            days = days * 10 + (c - '0');
+        }
+        return days;
+    }
+}
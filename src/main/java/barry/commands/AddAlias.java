@@ -0,0 +1,56 @@
+package barry.commands;
+
+import barry.alias.AliasStorage;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.storage.Storage;
+import barry.ui.Ui;
+
+/**
+ * Represents a command that adds or replaces a user-defined alias.
+ * <p>
+ * The alias is added to the shared {@link AliasStorage} and appended to the RC file,
+ * so it takes effect immediately and survives restarts. It does not modify the
+ * {@link TaskList} or {@link Storage}, and it does not cause the program to exit.
+ * </p>
+ */
+public class AddAlias extends Command {
+
+    private final String name;
+    private final String template;
+
+    /**
+     * Creates an {@code AddAlias} command.
+     *
+     * @param name     the alias name (case-insensitive)
+     * @param template the template the alias stands for
+     */
+    public AddAlias(String name, String template) {
+        super(false);
+        this.name = name;
+        this.template = template;
+    }
+
+    /**
+     * Executes the command by storing the alias and confirming it through the console.
+     *
+     * @param taskList the task list (not used by this command)
+     * @param ui       the console UI used to show the confirmation
+     * @param storage  the storage handler (not used by this command)
+     * @throws BarryException if the alias file cannot be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
+        AliasStorage.getInstance().add(name, template);
+        ui.printAddAlias(name.toLowerCase(), template);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof AddAlias) {
+            AddAlias other = (AddAlias) o;
+            return other.name.equalsIgnoreCase(name) && other.template.equals(template);
+        }
+        return false;
+    }
+}
@@ -3,7 +3,6 @@ package barry.commands;
 import barry.data.TaskList;
 import barry.storage.Storage;
 import barry.tasks.Task;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -41,24 +40,9 @@ public class AddTask extends Command {
      */
     @Override
     public void execute(TaskList taskList, Ui ui, Storage storage) {
-        taskList.addTask(task);
+        int size = taskList.addTask(task);
         storage.save(taskList);
-        ui.printAddTask(task.toString(), taskList.size());
-    }
-
-    /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}
-     *
-     * @param taskList the task list to which the task will be added
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler used to persist the task list
-     * @return the confirmation message including the added task and updated count
-     */
-    @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) {
-        taskList.addTask(task);
-        storage.save(taskList);
-        return gui.printAddTask(task.toString(), taskList.size());
+        ui.printAddTask(task.toString(), size);
     }
 
     @Override
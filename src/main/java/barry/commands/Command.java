@@ -3,7 +3,6 @@ package barry.commands;
 import barry.data.TaskList;
 import barry.data.exceptions.BarryException;
 import barry.storage.Storage;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -13,6 +12,9 @@ import barry.ui.Ui;
  * how it should affect the {@link TaskList}, {@link Ui}, and {@link Storage}.
  * Subclasses of {@code Command} implement the {@link #execute(TaskList, Ui, Storage)}
  * method to provide specific behavior (e.g., adding a task, listing tasks, exiting the program).
+ * A command renders its response once, through the {@link Ui} it is given; the same
+ * command therefore serves the console and the GUI, which differ only in the destination
+ * and style of that {@code Ui}.
  * </p>
  */
 public abstract class Command {
@@ -36,30 +38,39 @@ public abstract class Command {
      * Executes the command with the given task list, user interface, and storage.
      *
      * @param taskList the task list that the command operates on
-     * @param ui       the user interface used to display messages to the user
+     * @param ui       renders the response of the command
      * @param storage  the storage handler used to load and save task data
      * @throws BarryException if an error specific to command execution occurs
      */
     public abstract void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException;
 
     /**
-     * Executes the command for a GUI flow and returns the user-facing message.
+     * Returns whether this command only reads the {@link TaskList} and aliases, so that its
+     * response is fully determined by the command and their versions.
      * <p>
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}: implementations
-     * must perform the same side effects on the {@link TaskList} and interact with
-     * {@link Storage} in the same way. The only difference is output handling—no console
-     * printing should occur here. Instead, produce the message using the analogous
-     * {@link Gui} methods (which mirror {@link Ui} but return strings) and return the
-     * resulting text for the caller to render.
-     * Callers may consult {@link #isExit} to decide whether to terminate afterward.
+     * Such commands may be answered from a {@link ResponseCache}. Commands overriding this
+     * to return {@code true} must also override {@link #equals(Object)} and {@link #hashCode()}.
      * </p>
      *
-     * @param taskList the task list the command operates on
-     * @param gui      the GUI facade (same API as {@link Ui} but methods return strings)
-     * @param storage  the storage handler used to load and save task data
-     * @return the message to display in the GUI (may be multi-line)
-     * @throws BarryException if a command-specific error occurs during execution
-     * @see #execute(TaskList, Ui, Storage)
+     * @return {@code true} if the response can be cached; {@code false} by default
      */
-    public abstract String execute(TaskList taskList, Gui gui, Storage storage) throws BarryException;
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns a response that renders the tasks this command lists one page at a time, for
+     * commands that can list very many of them.
+     * <p>
+     * The pages together read like the response of {@link #execute(TaskList, Ui, Storage)}
+     * split into chunks of {@code pageSize} rows.
+     * </p>
+     *
+     * @param taskList the task list to read
+     * @param pageSize the number of rows per page
+     * @return the paged response, or {@code null} if this command is not paged (the default)
+     */
+    public PagedResponse paged(TaskList taskList, int pageSize) {
+        return null;
+    }
 }
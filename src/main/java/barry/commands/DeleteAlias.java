@@ -0,0 +1,52 @@
+package barry.commands;
+
+import barry.alias.AliasStorage;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.storage.Storage;
+import barry.ui.Ui;
+
+/**
+ * Represents a command that removes a user-defined alias.
+ * <p>
+ * The alias is removed from the shared {@link AliasStorage} and the removal is appended
+ * to the RC file. It does not modify the {@link TaskList} or {@link Storage}, and it does
+ * not cause the program to exit.
+ * </p>
+ */
+public class DeleteAlias extends Command {
+
+    private final String name;
+
+    /**
+     * Creates a {@code DeleteAlias} command.
+     *
+     * @param name the alias name (case-insensitive)
+     */
+    public DeleteAlias(String name) {
+        super(false);
+        this.name = name;
+    }
+
+    /**
+     * Executes the command by removing the alias and confirming it through the console.
+     *
+     * @param taskList the task list (not used by this command)
+     * @param ui       the console UI used to show the confirmation
+     * @param storage  the storage handler (not used by this command)
+     * @throws BarryException if there is no such alias, or the alias file cannot be written
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
+        String template = AliasStorage.getInstance().delete(name);
+        ui.printDeleteAlias(name.toLowerCase(), template);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof DeleteAlias) {
+            return ((DeleteAlias) o).name.equalsIgnoreCase(name);
+        }
+        return false;
+    }
+}
@@ -4,7 +4,6 @@ import barry.data.TaskList;
 import barry.data.exceptions.BarryException;
 import barry.storage.Storage;
 import barry.tasks.Task;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -45,41 +44,10 @@ public class DeleteTask extends Command {
      */
     @Override
     public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
-        if (id <= 0 || id > taskList.size()) {
-            throw BarryException.taskNotFound(taskList.size());
-        }
-        try {
-            String task = taskList.deleteTask(id - 1);
-            storage.save(taskList);
-            ui.printDeleteTask(task, taskList.size());
-        } catch (IndexOutOfBoundsException e) {
-            // Should not go into this line
-            throw BarryException.taskNotFound(taskList.size());
-        }
-    }
-
-    /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}
-     *
-     * @param taskList the task list from which the task will be deleted
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler used to persist the updated task list
-     * @return the confirmation message including the added task and updated count
-     * @throws BarryException if the index is invalid (≤ 0 or greater than the task list size)
-     */
-    @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) throws BarryException {
-        if (id <= 0 || id > taskList.size()) {
-            throw BarryException.taskNotFound(taskList.size());
-        }
-        try {
-            String task = taskList.deleteTask(id - 1);
-            storage.save(taskList);
-            return gui.printDeleteTask(task, taskList.size());
-        } catch (IndexOutOfBoundsException e) {
-            // Should not go into this line
-            throw BarryException.taskNotFound(taskList.size());
-        }
+        // The bounds check and the count of tasks left happen atomically with the deletion
+        TaskList.Deletion deletion = taskList.deleteTask(id - 1);
+        storage.save(taskList);
+        ui.printDeleteTask(deletion.getTask(), deletion.getRemaining());
     }
 
     @Override
@@ -2,7 +2,6 @@ package barry.commands;
 
 import barry.data.TaskList;
 import barry.storage.Storage;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -27,30 +26,17 @@ public class Exit extends Command {
     }
 
     /**
-     * Executes the exit command by saving the current task list to storage.
-     * After this method is run, the application is expected to terminate.
+     * Executes the exit command by saving the current task list to storage and
+     * saying goodbye. After this method is run, the application is expected to terminate.
      *
      * @param taskList the task list to be saved before exit
-     * @param ui       the user interface (not used in this command, but required by signature)
+     * @param ui       the user interface used to show the farewell message
      * @param storage  the storage handler used to persist the task list
      */
     @Override
     public void execute(TaskList taskList, Ui ui, Storage storage) {
         storage.save(taskList);
-    }
-
-    /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}.
-     *
-     * @param taskList the task list to be saved before exit
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler used to persist the task list
-     * @return the farewell message to display in the GUI
-     */
-    @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) {
-        storage.save(taskList);
-        return gui.printGoodbye();
+        ui.printGoodbye();
     }
 
     @Override
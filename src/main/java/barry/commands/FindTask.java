@@ -1,10 +1,11 @@
 package barry.commands;
 
 import java.util.ArrayList;
+import java.util.Objects;
 
 import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
 import barry.storage.Storage;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -12,12 +13,18 @@ import barry.ui.Ui;
  * <p>
  * The {@code FindCommand} searches the current tasks for entries matching the provided
  * {@code pattern} and displays them to the user through the {@link Ui}.
+ * With the {@code --archived} flag it searches the archive of completed tasks instead,
+ * which is loaded on demand from {@link Storage}.
  * It does not modify the task list or storage, and it does not cause the program to exit.
  * </p>
  */
 public class FindTask extends Command {
     private final String pattern;
 
+    /**
+     * Whether the archive should be searched instead of the working list.
+     */
+    private final boolean isArchived;
 
     /**
      * Creates a {@code FindCommand} with the specified search pattern.
@@ -29,8 +36,19 @@ public class FindTask extends Command {
      * @param pattern the search term or pattern used to filter tasks
      */
     public FindTask(String pattern) {
+        this(pattern, false);
+    }
+
+    /**
+     * Creates a {@code FindCommand} over either the working list or the archive.
+     *
+     * @param pattern    the search term or pattern used to filter tasks
+     * @param isArchived {@code true} to search archived tasks instead of the working list
+     */
+    public FindTask(String pattern, boolean isArchived) {
         super(false);
         this.pattern = pattern;
+        this.isArchived = isArchived;
     }
 
     /**
@@ -39,35 +57,54 @@ public class FindTask extends Command {
      *
      * @param taskList the task list to search for matching tasks
      * @param ui       the user interface used to display the matching tasks
-     * @param storage  the storage handler (not used in this command,
-     *                 but required by the method signature)
+     * @param storage  the storage handler, used only to read the archive
+     * @throws BarryException if the archive is requested but cannot be read
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) {
-        ArrayList<String> tasks = taskList.findMatchingTasks(pattern);
+    public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
+        ArrayList<String> tasks = source(taskList, storage).findMatchingTasks(pattern);
         ui.printMatchingTasks(tasks);
     }
 
     /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}.
+     * Returns the list to search: the archive if requested, otherwise the working list.
+     */
+    private TaskList source(TaskList taskList, Storage storage) throws BarryException {
+        return isArchived ? storage.loadArchive() : taskList;
+    }
+
+    /**
+     * Pages the matches in the working list; a search of the archive is not paged.
+     */
+    @Override
+    public PagedResponse paged(TaskList taskList, int pageSize) {
+        if (isArchived) {
+            return null;
+        }
+        return PagedResponse.ofTasks(taskList.snapshot(), TaskList.matching(pattern), pageSize);
+    }
+
+    /**
+     * The working list is read-only here; the archive is read from disk, so it is never cached.
      *
-     * @param taskList the task list to search for matching tasks
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler (not used in this command, required by signature)
-     * @return the formatted message listing the matching tasks for display in the GUI
+     * @return {@code true} unless the archive is searched
      */
     @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) {
-        ArrayList<String> tasks = taskList.findMatchingTasks(pattern);
-        return gui.printMatchingTasks(tasks);
+    public boolean isReadOnly() {
+        return !isArchived;
     }
 
     @Override
     public boolean equals(Object o) {
         if (o instanceof FindTask) {
-            String p = ((FindTask) o).pattern;
-            return p.equals(this.pattern);
+            FindTask f = (FindTask) o;
+            return f.pattern.equals(this.pattern) && f.isArchived == this.isArchived;
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pattern, isArchived);
+    }
 }
@@ -2,7 +2,6 @@ package barry.commands;
 
 import barry.data.TaskList;
 import barry.storage.Storage;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -50,21 +49,9 @@ public class HelpCommand extends Command {
         }
     }
 
-    /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}.
-     *
-     * @param taskList the task list (not used in this command, required by signature)
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler (not used in this command, required by signature)
-     * @return the help message text (concise or detailed, depending on {@code isDetailed})
-     */
     @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) {
-        if (!isDetailed) {
-            return gui.printHelp();
-        } else {
-            return gui.printDetailedHelp();
-        }
+    public boolean isReadOnly() {
+        return true;
     }
 
     @Override
@@ -75,4 +62,9 @@ public class HelpCommand extends Command {
         }
         return false;
     }
+
+    @Override
+    public int hashCode() {
+        return Boolean.hashCode(isDetailed);
+    }
 }
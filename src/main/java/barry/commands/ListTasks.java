@@ -1,60 +1,122 @@
 package barry.commands;
 
+import java.util.Objects;
+
+import barry.data.SortKey;
 import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
 import barry.storage.Storage;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
  * Represents a command that lists all tasks in the {@link TaskList}.
  * <p>
  * The {@code ListCommand} displays the current tasks to the user
- * through the {@link Ui}. It does not modify the task list or storage,
+ * through the {@link Ui}. With the {@code --archived} flag it instead lists the
+ * completed tasks that were moved to the archive, which is loaded on demand from
+ * {@link Storage}. With {@code --sort} it lists the working list in the order of a
+ * {@link SortKey}. It does not modify the task list or storage,
  * and it does not cause the program to exit.
  * </p>
  */
 public class ListTasks extends Command {
 
     /**
-     * Creates a {@code ListCommand}.
+     * Whether the archived tasks should be listed instead of the working list.
+     */
+    private final boolean isArchived;
+
+    /**
+     * The order to list in, or {@code null} for insertion order.
+     */
+    private final SortKey sortKey;
+
+    /**
+     * Creates a {@code ListCommand} for the working task list.
      * <p>
      * The {@code isExit} flag is always set to {@code false}
      * for this command, as listing tasks does not terminate the program.
      * </p>
      */
     public ListTasks() {
+        this(false);
+    }
+
+    /**
+     * Creates a {@code ListCommand}.
+     *
+     * @param isArchived {@code true} to list archived tasks,
+     *                   {@code false} to list the working task list
+     */
+    public ListTasks(boolean isArchived) {
         super(false);
+        this.isArchived = isArchived;
+        this.sortKey = null;
+    }
+
+    /**
+     * Creates a {@code ListCommand} for the working task list in the given order.
+     *
+     * @param sortKey the order to list the tasks in
+     */
+    public ListTasks(SortKey sortKey) {
+        super(false);
+        this.isArchived = false;
+        this.sortKey = sortKey;
     }
 
     /**
      * Executes the list command by displaying all tasks in the task list
-     * through the user interface.
+     * (or in the archive) through the user interface.
      *
      * @param taskList the task list containing tasks to be listed
      * @param ui       the user interface used to display the tasks
-     * @param storage  the storage handler (not used in this command,
-     *                 but required by the method signature)
+     * @param storage  the storage handler, used only to read the archive
+     * @throws BarryException if the archive is requested but cannot be read
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
+        if (isArchived) {
+            ui.printArchivedTasks(storage.loadArchive().listTasks());
+        } else if (sortKey != null) {
+            ui.printSortedTasks(taskList.listTasks(sortKey), sortKey.getLabel());
+        } else {
+            ui.printListTask(taskList.listTasks());
+        }
+    }
+
+    /**
+     * Pages the working list in insertion order; sorted and archived listings are not paged.
      */
     @Override
-    public void execute(TaskList taskList, Ui ui, Storage storage) {
-        ui.printListTask(taskList.listTasks());
+    public PagedResponse paged(TaskList taskList, int pageSize) {
+        if (isArchived || sortKey != null) {
+            return null;
+        }
+        return PagedResponse.ofTasks(taskList.snapshot(), null, pageSize);
     }
 
     /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}.
+     * The working list is read-only here; the archive is read from disk, so it is never cached.
      *
-     * @param taskList the task list containing tasks to be listed
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler (not used in this command, required by signature)
-     * @return the formatted list of tasks for display in the GUI
+     * @return {@code true} unless the archive is listed
      */
     @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) {
-        return gui.printListTask(taskList.listTasks());
+    public boolean isReadOnly() {
+        return !isArchived;
     }
 
     @Override
     public boolean equals(Object o) {
-        return o instanceof ListTasks;
+        if (o instanceof ListTasks) {
+            ListTasks other = (ListTasks) o;
+            return other.isArchived == isArchived && other.sortKey == sortKey;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isArchived, sortKey);
     }
 }
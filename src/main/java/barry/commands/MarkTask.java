@@ -4,7 +4,6 @@ import barry.data.TaskList;
 import barry.data.exceptions.BarryException;
 import barry.storage.Storage;
 import barry.tasks.Task;
-import barry.ui.Gui;
 import barry.ui.Ui;
 
 /**
@@ -53,33 +52,12 @@ public class MarkTask extends Command {
      */
     @Override
     public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
-        if (id <= 0 || id > taskList.size()) {
-            throw BarryException.taskNotFound(taskList.size());
-        }
+        // The bounds check happens atomically with the update, so a concurrent deletion cannot slip through
         String task = taskList.markTask(id - 1, isMarked);
         storage.save(taskList);
         ui.printMarkTask(task, isMarked);
     }
 
-    /**
-     * Semantics are identical to {@link #execute(TaskList, Ui, Storage)}.
-     *
-     * @param taskList the task list containing the task to be marked/unmarked
-     * @param gui      the GUI facade (analogous to {@link Ui} but returning strings)
-     * @param storage  the storage handler used to persist the updated task list
-     * @return the confirmation message indicating the task and its updated marked status
-     * @throws BarryException if the index is invalid (≤ 0 or greater than the task list size)
-     */
-    @Override
-    public String execute(TaskList taskList, Gui gui, Storage storage) throws BarryException {
-        if (id <= 0 || id > taskList.size()) {
-            throw BarryException.taskNotFound(taskList.size());
-        }
-        String task = taskList.markTask(id - 1, isMarked);
-        storage.save(taskList);
-        return gui.printMarkTask(task, isMarked);
-    }
-
     @Override
     public boolean equals(Object o) {
         if (o instanceof MarkTask) {
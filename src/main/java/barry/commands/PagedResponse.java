@@ -0,0 +1,144 @@
+package barry.commands;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import barry.data.PersistentList;
+import barry.tasks.Task;
+import barry.ui.Ui;
+
+/**
+ * A response that is rendered one page at a time.
+ * <p>
+ * The responses of {@code list} and {@code find} can run to tens of thousands of lines. A
+ * {@code PagedResponse} over such a listing keeps a snapshot of the tasks and a position in
+ * it, and each {@link #next()} renders only the following page of rows, resuming the scan
+ * with {@link PersistentList#iterator(int)}. The time to the first row therefore does not
+ * depend on the size of the list. Any other response is a single page.
+ * </p>
+ * <p>
+ * This class is safe for use by multiple threads.
+ * </p>
+ */
+public final class PagedResponse {
+    private final PersistentList<Task> tasks;
+    // Selects the rows of a search, or null to list every task
+    private final Predicate<Task> filter;
+    private final int pageSize;
+    // Whether the command that produced this response ends the session
+    private final boolean isExit;
+
+    // The whole text of a single-page response, until it is returned
+    private String text;
+
+    // Whether the first page is rendered, the index in tasks to resume scanning from (the
+    // next match, for a search), and the number of rows rendered so far
+    private boolean isStarted;
+    private int position;
+    private int count;
+
+    private PagedResponse(PersistentList<Task> tasks, Predicate<Task> filter, int pageSize, String text,
+            boolean isExit) {
+        this.tasks = tasks;
+        this.filter = filter;
+        this.pageSize = pageSize;
+        this.text = text;
+        this.isExit = isExit;
+    }
+
+    /**
+     * Creates a response that is a single page.
+     *
+     * @param text the whole response
+     * @return a response whose only page is {@code text}
+     */
+    public static PagedResponse of(String text) {
+        return of(text, false);
+    }
+
+    /**
+     * Creates a response that is a single page, from a command that may end the session.
+     *
+     * @param text   the whole response
+     * @param isExit whether the command ends the session, like {@code bye}
+     * @return a response whose only page is {@code text}
+     */
+    public static PagedResponse of(String text, boolean isExit) {
+        return new PagedResponse(null, null, 0, text, isExit);
+    }
+
+    /**
+     * Creates a response listing tasks, {@code pageSize} rows per page.
+     *
+     * @param tasks    the tasks to list, in order
+     * @param filter   selects the matches of a search, or {@code null} to list every task
+     * @param pageSize the number of rows per page
+     * @return a response whose first page starts with the heading of the listing
+     */
+    public static PagedResponse ofTasks(PersistentList<Task> tasks, Predicate<Task> filter, int pageSize) {
+        return new PagedResponse(tasks, filter, pageSize, null, false);
+    }
+
+    /**
+     * @return {@code true} if the command that produced this response ends the session
+     */
+    public boolean isExit() {
+        return isExit;
+    }
+
+    /**
+     * Renders the next page.
+     *
+     * @return the text of the page, in the plain {@link Ui} style
+     * @throws NoSuchElementException if there is no next page
+     */
+    public synchronized String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (tasks == null) {
+            String page = text;
+            text = null;
+            return page;
+        }
+        ArrayList<String> rows = new ArrayList<>();
+        Iterator<Task> it = tasks.iterator(position);
+        int scanned = position;
+        while (rows.size() < pageSize && it.hasNext()) {
+            Task t = it.next();
+            scanned++;
+            if (filter == null || filter.test(t)) {
+                rows.add(t.toString());
+            }
+        }
+        // Stop at the next match, if any, so that hasNext() is exact for a search
+        while (filter != null && it.hasNext() && !filter.test(it.next())) {
+            scanned++;
+        }
+        StringBuilder page = new StringBuilder();
+        new Ui(page, false).printTaskPage(rows, count, filter != null);
+        isStarted = true;
+        position = scanned;
+        count += rows.size();
+        return page.toString();
+    }
+
+    /**
+     * Returns whether there is another page.
+     * <p>
+     * For a search, {@link #next()} scans ahead to the first match of the following page,
+     * so this is {@code true} only if another matching task exists.
+     * </p>
+     *
+     * @return {@code true} if {@link #next()} has a page to render
+     */
+    public synchronized boolean hasNext() {
+        if (tasks == null) {
+            return text != null;
+        }
+        // The first page is rendered even for an empty list, for its heading
+        return !isStarted || position < tasks.size();
+    }
+}
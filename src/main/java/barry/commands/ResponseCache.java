@@ -0,0 +1,88 @@
+package barry.commands;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import barry.alias.AliasStorage;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.storage.Storage;
+import barry.ui.Ui;
+
+/**
+ * Caches the responses of {@linkplain Command#isReadOnly() read-only} commands.
+ * <p>
+ * A response is stored with the {@linkplain TaskList#getVersion() version of the task list}
+ * and the {@linkplain AliasStorage#getVersion() version of the aliases} it was computed at.
+ * Repeating a command such as {@code list} or {@code find book} before anything changes is
+ * then answered from memory; any mutation changes a version, so the next request recomputes
+ * the response. The least recently used responses are evicted once there are more than
+ * {@code barry.cache.size} of them (a system property, 64 by default).
+ * </p>
+ * <p>
+ * A cache is bound to one task list, and is safe to use from several threads.
+ * </p>
+ */
+public final class ResponseCache {
+    private static final int CAPACITY = Integer.getInteger("barry.cache.size", 64);
+
+    /**
+     * A response and the versions it was computed at.
+     */
+    private static final class Entry {
+        private final long taskVersion;
+        private final long aliasVersion;
+        private final String response;
+
+        private Entry(long taskVersion, long aliasVersion, String response) {
+            this.taskVersion = taskVersion;
+            this.aliasVersion = aliasVersion;
+            this.response = response;
+        }
+    }
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Command, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Command, Entry> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    /**
+     * Executes {@code command} and returns its response as plain text, or returns its cached
+     * response if it is read-only and neither the task list nor the aliases have changed
+     * since it was last executed.
+     *
+     * @param command  the command to execute
+     * @param taskList the task list the command operates on
+     * @param storage  the storage handler used to load and save task data
+     * @return the response of the command, rendered in the plain {@link Ui} style
+     * @throws BarryException if the command fails; failures are not cached
+     */
+    public String execute(Command command, TaskList taskList, Storage storage) throws BarryException {
+        if (!command.isReadOnly()) {
+            return render(command, taskList, storage);
+        }
+        // Read the versions first: the response is then at least as new as they are
+        long taskVersion = taskList.getVersion();
+        long aliasVersion = AliasStorage.getInstance().getVersion();
+        synchronized (entries) {
+            Entry e = entries.get(command);
+            if (e != null && e.taskVersion == taskVersion && e.aliasVersion == aliasVersion) {
+                return e.response;
+            }
+        }
+        String response = render(command, taskList, storage);
+        synchronized (entries) {
+            entries.put(command, new Entry(taskVersion, aliasVersion, response));
+        }
+        return response;
+    }
+
+    private static String render(Command command, TaskList taskList, Storage storage) throws BarryException {
+        StringBuilder response = new StringBuilder();
+        command.execute(taskList, new Ui(response, false), storage);
+        return response.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package barry.commands;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.parser.CommandParser;
+import barry.storage.Storage;
+import barry.ui.Ui;
+
+/**
+ * Represents a command that runs every command in a script file.
+ * <p>
+ * Each non-blank line of the file that does not start with {@code #} is parsed and
+ * executed in order. Per-command output is discarded, and saves are batched through
+ * {@link Storage#beginBatch(int)}: the file is written every {@code barry.script.saveEvery}
+ * commands (a system property, {@code 0} by default, meaning once at the end). A failing
+ * command does not stop the script; the run ends with a summary of the failures.
+ * A {@code bye} line ends the script without exiting the program, and a script may
+ * {@code source} other scripts, but not itself.
+ * </p>
+ */
+public class RunScript extends Command {
+
+    // Deferred saves between two writes of the data file during a script
+    private static final int SAVE_EVERY = Integer.getInteger("barry.script.saveEvery", 0);
+
+    // Scripts being run by the current thread, to reject a script that sources itself
+    private static final ThreadLocal<ArrayDeque<Path>> RUNNING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * The path of the script to run.
+     */
+    private final Path path;
+
+    /**
+     * The outcome of a script run.
+     */
+    public static final class Result {
+        private final int commandCount;
+        private final ArrayList<String> failures;
+
+        private Result(int commandCount, ArrayList<String> failures) {
+            this.commandCount = commandCount;
+            this.failures = failures;
+        }
+
+        /**
+         * @return the number of commands that were run
+         */
+        public int getCommandCount() {
+            return commandCount;
+        }
+
+        /**
+         * @return one message per failed command, prefixed with its line number
+         */
+        public ArrayList<String> getFailures() {
+            return failures;
+        }
+    }
+
+    /**
+     * Creates a {@code RunScript} command.
+     *
+     * @param path the path of the script file
+     */
+    public RunScript(Path path) {
+        super(false);
+        this.path = path;
+    }
+
+    /**
+     * Runs the script against the given task list.
+     *
+     * @param taskList the task list the commands operate on
+     * @param storage  the storage handler; its saves are batched for the whole run
+     * @return the number of commands run and the failures
+     * @throws BarryException if the script cannot be read, or is already being run
+     */
+    public Result run(TaskList taskList, Storage storage) throws BarryException {
+        Path key = path.toAbsolutePath().normalize();
+        ArrayDeque<Path> running = RUNNING.get();
+        if (running.contains(key)) {
+            throw BarryException.recursiveScript(path.toString());
+        }
+
+        CommandParser parser = new CommandParser();
+        Ui sink = new Ui(Writer.nullWriter(), false);
+        ArrayList<String> failures = new ArrayList<>();
+        int count = 0;
+        running.push(key);
+        storage.beginBatch(SAVE_EVERY);
+        try (BufferedReader reader = Files.newBufferedReader(path, UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String command = line.strip();
+                if (command.isEmpty() || command.startsWith("#")) {
+                    continue;
+                }
+                count++;
+                try {
+                    Command c = parser.parseCommand(command);
+                    c.execute(taskList, sink, storage);
+                    if (c.isExit) {
+                        break;
+                    }
+                } catch (BarryException e) {
+                    failures.add("line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw BarryException.scriptUnavailable(path.toString());
+        } finally {
+            storage.endBatch();
+            running.pop();
+        }
+        return new Result(count, failures);
+    }
+
+    /**
+     * Executes the command by running the script and printing a summary through the console.
+     *
+     * @param taskList the task list the commands operate on
+     * @param ui       the console UI used to show the summary
+     * @param storage  the storage handler used to persist the task list
+     * @throws BarryException if the script cannot be read, or is already being run
+     */
+    @Override
+    public void execute(TaskList taskList, Ui ui, Storage storage) throws BarryException {
+        Result result = run(taskList, storage);
+        ui.printScriptSummary(path.toString(), result.commandCount, result.failures);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof RunScript) {
+            return ((RunScript) o).path.equals(path);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,295 @@
+package barry.data;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, indexable sequence with cheap "modified copies".
+ * <p>
+ * The elements are kept in a height-balanced (AVL) tree ordered by position, where each
+ * node records the size of its subtree. Operations that "change" the list, such as
+ * {@link #append(Object)}, {@link #insert(int, Object)}, {@link #update(int, Object)} and
+ * {@link #delete(int)}, return a new version in {@code O(log n)} time by copying only the
+ * nodes on the path to the affected position; every other node is shared with the
+ * previous version. Old versions therefore stay valid and unchanged, which makes them
+ * safe to read from any thread without locking or copying.
+ * </p>
+ * <p>
+ * The standard {@link List} mutators inherited from {@link AbstractList} are unsupported.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public final class PersistentList<T> extends AbstractList<T> {
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+    private final Node<T> root;
+
+    private PersistentList(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @param <T> the element type
+     * @return an empty {@code PersistentList}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    /**
+     * Builds a perfectly balanced list holding the given items in order, in {@code O(n)}.
+     *
+     * @param items the items to copy
+     * @param <T>   the element type
+     * @return a new {@code PersistentList} with the same elements as {@code items}
+     */
+    public static <T> PersistentList<T> of(List<? extends T> items) {
+        return new PersistentList<>(build(items, 0, items.size()));
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        Node<T> n = root;
+        int i = index;
+        while (true) {
+            int ls = size(n.left);
+            if (i < ls) {
+                n = n.left;
+            } else if (i == ls) {
+                return n.value;
+            } else {
+                i -= ls + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns a new version with {@code value} added at the end.
+     *
+     * @param value the element to add
+     * @return the new version
+     */
+    public PersistentList<T> append(T value) {
+        return insert(size(), value);
+    }
+
+    /**
+     * Returns a new version with {@code value} inserted at {@code index}.
+     *
+     * @param index the position to insert at, between {@code 0} and {@link #size()} inclusive
+     * @param value the element to insert
+     * @return the new version
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public PersistentList<T> insert(int index, T value) {
+        checkIndex(index, size() + 1);
+        return new PersistentList<>(insert(root, index, value));
+    }
+
+    /**
+     * Returns a new version with the element at {@code index} replaced by {@code value}.
+     *
+     * @param index the position to replace
+     * @param value the new element
+     * @return the new version
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public PersistentList<T> update(int index, T value) {
+        checkIndex(index, size());
+        return new PersistentList<>(update(root, index, value));
+    }
+
+    /**
+     * Returns a new version without the element at {@code index}.
+     *
+     * @param index the position to remove
+     * @return the new version
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public PersistentList<T> delete(int index) {
+        checkIndex(index, size());
+        return new PersistentList<>(delete(root, index));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an iterator over the elements starting at {@code from}.
+     * <p>
+     * Positioning costs {@code O(log n)} and each step is amortized {@code O(1)}.
+     * </p>
+     *
+     * @param from the index of the first element returned
+     * @return an iterator over the elements from {@code from} to the end
+     * @throws IndexOutOfBoundsException if {@code from} is out of range
+     */
+    public Iterator<T> iterator(int from) {
+        checkIndex(from, size() + 1);
+        return new InOrder<>(root, from);
+    }
+
+    // ---- tree helpers ----
+
+    private static final class Node<T> {
+        private final Node<T> left;
+        private final T value;
+        private final Node<T> right;
+        private final int size;
+        private final int height;
+
+        private Node(Node<T> left, T value, Node<T> right) {
+            this.left = left;
+            this.value = value;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static int height(Node<?> n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (bound - 1));
+        }
+    }
+
+    private static <T> Node<T> build(List<? extends T> items, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        return new Node<>(build(items, from, mid), items.get(mid), build(items, mid + 1, to));
+    }
+
+    private static <T> Node<T> insert(Node<T> n, int index, T value) {
+        if (n == null) {
+            return new Node<>(null, value, null);
+        }
+        int ls = size(n.left);
+        if (index <= ls) {
+            return balance(insert(n.left, index, value), n.value, n.right);
+        }
+        return balance(n.left, n.value, insert(n.right, index - ls - 1, value));
+    }
+
+    private static <T> Node<T> update(Node<T> n, int index, T value) {
+        int ls = size(n.left);
+        if (index < ls) {
+            return new Node<>(update(n.left, index, value), n.value, n.right);
+        } else if (index == ls) {
+            return new Node<>(n.left, value, n.right);
+        }
+        return new Node<>(n.left, n.value, update(n.right, index - ls - 1, value));
+    }
+
+    private static <T> Node<T> delete(Node<T> n, int index) {
+        int ls = size(n.left);
+        if (index < ls) {
+            return balance(delete(n.left, index), n.value, n.right);
+        } else if (index > ls) {
+            return balance(n.left, n.value, delete(n.right, index - ls - 1));
+        }
+        if (n.left == null) {
+            return n.right;
+        }
+        if (n.right == null) {
+            return n.left;
+        }
+        Node<T> successor = n.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(n.left, successor.value, delete(n.right, 0));
+    }
+
+    /**
+     * Joins two subtrees whose heights differ by at most two, rotating if needed.
+     */
+    private static <T> Node<T> balance(Node<T> left, T value, Node<T> right) {
+        int hl = height(left);
+        int hr = height(right);
+        if (hl > hr + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.left, left.value, new Node<>(left.right, value, right));
+            }
+            Node<T> lr = left.right;
+            return new Node<>(new Node<>(left.left, left.value, lr.left), lr.value,
+                    new Node<>(lr.right, value, right));
+        }
+        if (hr > hl + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(new Node<>(left, value, right.left), right.value, right.right);
+            }
+            Node<T> rl = right.left;
+            return new Node<>(new Node<>(left, value, rl.left), rl.value,
+                    new Node<>(rl.right, right.value, right.right));
+        }
+        return new Node<>(left, value, right);
+    }
+
+    /**
+     * In-order iterator that keeps only the pending path on a stack.
+     */
+    private static final class InOrder<T> implements Iterator<T> {
+        private final ArrayDeque<Node<T>> stack = new ArrayDeque<>();
+
+        private InOrder(Node<T> root, int from) {
+            Node<T> n = root;
+            int i = from;
+            while (n != null) {
+                int ls = size(n.left);
+                if (i < ls) {
+                    stack.push(n);
+                    n = n.left;
+                } else if (i == ls) {
+                    stack.push(n);
+                    return;
+                } else {
+                    i -= ls + 1;
+                    n = n.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> n = stack.pop();
+            for (Node<T> c = n.right; c != null; c = c.left) {
+                stack.push(c);
+            }
+            return n.value;
+        }
+    }
+}
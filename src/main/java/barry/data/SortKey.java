@@ -0,0 +1,97 @@
+package barry.data;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+import barry.tasks.Deadline;
+import barry.tasks.Event;
+import barry.tasks.Task;
+
+/**
+ * The orders in which {@code list --sort} can show tasks.
+ * <p>
+ * Each constant pairs the keyword typed by the user with a total order over tasks.
+ * Tasks without the sorted attribute (e.g., a {@code todo} when sorting by due date)
+ * come last, and ties are broken by {@link Task#getId() id}, i.e. creation order, so
+ * that two distinct tasks never compare equal.
+ * </p>
+ * <ul>
+ *   <li><b>due</b> – deadlines by due time, events by end time</li>
+ *   <li><b>start</b> – events by start time</li>
+ *   <li><b>name</b> – description, case-insensitively</li>
+ *   <li><b>status</b> – pending tasks before completed ones</li>
+ * </ul>
+ */
+public enum SortKey {
+    DUE("due", "due date", byTime(SortKey::dueOf)),
+    START("start", "start time", byTime(SortKey::startOf)),
+    NAME("name", "name",
+            Comparator.comparing(Task::getDescription, String.CASE_INSENSITIVE_ORDER)),
+    STATUS("status", "status", Comparator.comparing(Task::isDone));
+
+    private final String keyword;
+    private final String label;
+    private final Comparator<Task> order;
+
+    /**
+     * Creates a {@code SortKey}.
+     *
+     * @param keyword the word typed after {@code --sort}
+     * @param label   a human-readable name used in output
+     * @param order   the primary order; ties are broken by task id
+     */
+    SortKey(String keyword, String label, Comparator<Task> order) {
+        this.keyword = keyword;
+        this.label = label;
+        this.order = order.thenComparingLong(Task::getId);
+    }
+
+    /**
+     * Returns the {@code SortKey} for the given keyword.
+     *
+     * @param keyword the word typed after {@code --sort} (e.g., {@code "due"})
+     * @return the matching key, or {@code null} if there is none
+     */
+    public static SortKey fromKeyword(String keyword) {
+        for (SortKey k : values()) {
+            if (k.keyword.equals(keyword)) {
+                return k;
+            }
+        }
+        return null;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the total order over tasks for this key
+     */
+    public Comparator<Task> comparator() {
+        return order;
+    }
+
+    private static Comparator<Task> byTime(Function<Task, LocalDateTime> time) {
+        return Comparator.comparing(time, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static LocalDateTime dueOf(Task t) {
+        if (t instanceof Deadline) {
+            return ((Deadline) t).getDueAt();
+        }
+        if (t instanceof Event) {
+            return ((Event) t).getEnd();
+        }
+        return null;
+    }
+
+    private static LocalDateTime startOf(Task t) {
+        return t instanceof Event ? ((Event) t).getStart() : null;
+    }
+}
@@ -0,0 +1,67 @@
+package barry.data;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import barry.tasks.Task;
+
+/**
+ * Ordered indexes over a {@link TaskList}, one per {@link SortKey}.
+ * <p>
+ * An index is built the first time its key is requested and is then kept up to date
+ * from the list's {@link TaskEvent}s, so a sorted listing walks the index instead of
+ * copying and sorting the list with an {@code O(n log n)} sort per command.
+ * Each update costs {@code O(log n)} per built index.
+ * </p>
+ * <p>
+ * Updates must be applied under the owning list's write lock. Readers may iterate an
+ * index concurrently; iteration is weakly consistent (see {@link ConcurrentSkipListSet}).
+ * </p>
+ */
+class SortedViews {
+    private final ConcurrentHashMap<SortKey, ConcurrentSkipListSet<Task>> views = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the index for {@code key}, or {@code null} if it has not been built yet.
+     */
+    NavigableSet<Task> get(SortKey key) {
+        return views.get(key);
+    }
+
+    /**
+     * Builds the index for {@code key} from the given contents, unless it already exists.
+     * Must be called under the owning list's write lock.
+     */
+    NavigableSet<Task> build(SortKey key, Iterable<Task> tasks) {
+        return views.computeIfAbsent(key, k -> {
+            ConcurrentSkipListSet<Task> view = new ConcurrentSkipListSet<>(k.comparator());
+            for (Task t : tasks) {
+                view.add(t);
+            }
+            return view;
+        });
+    }
+
+    /**
+     * Applies one change to every built index.
+     */
+    void apply(TaskEvent event) {
+        for (ConcurrentSkipListSet<Task> view : views.values()) {
+            switch (event.getKind()) {
+            case ADDED:
+                view.add(event.getTask());
+                break;
+            case REMOVED:
+                view.remove(event.getTask());
+                break;
+            case MARKED:
+                view.remove(event.getPrevious());
+                view.add(event.getTask());
+                break;
+            default:
+                assert false : "unreachable: unknown event " + event.getKind();
+            }
+        }
+    }
+}
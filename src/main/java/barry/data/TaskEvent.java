@@ -0,0 +1,77 @@
+package barry.data;
+
+import barry.tasks.Task;
+
+/**
+ * Describes a single change made to a {@link TaskList}.
+ * <p>
+ * Events are delivered to every registered {@link TaskListener} right after the change
+ * is applied, in the order the changes happen. Each event carries the zero-based
+ * {@code position} of the affected task at the time of the change, the task itself
+ * (whose {@link Task#getId() id} identifies it independently of its position), and the
+ * list's {@code version} after the change. {@code MARKED} events also carry the
+ * {@linkplain #getPrevious() previous} copy of the task that was replaced.
+ * </p>
+ */
+public final class TaskEvent {
+
+    /**
+     * The kinds of change a {@link TaskList} can report.
+     */
+    public enum Kind {
+        /** A task was inserted at {@code position}. */
+        ADDED,
+        /** The task at {@code position} was removed. */
+        REMOVED,
+        /** The task at {@code position} was marked or unmarked. */
+        MARKED
+    }
+
+    private final Kind kind;
+    private final int position;
+    private final Task task;
+    private final Task previous;
+    private final long version;
+
+    /**
+     * Creates a {@code TaskEvent}.
+     *
+     * @param kind     the kind of change
+     * @param position the zero-based position of the affected task
+     * @param task     the affected task (for {@code REMOVED}, the task that was removed)
+     * @param previous for {@code MARKED}, the task that was replaced; otherwise {@code null}
+     * @param version  the version of the list after the change
+     */
+    public TaskEvent(Kind kind, int position, Task task, Task previous, long version) {
+        this.kind = kind;
+        this.position = position;
+        this.task = task;
+        this.previous = previous;
+        this.version = version;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public Task getPrevious() {
+        return previous;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "@" + position + " #" + task.getId() + " v" + version;
+    }
+}
@@ -1,8 +1,17 @@
 package barry.data;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import barry.data.exceptions.BarryException;
 import barry.tasks.Task;
 
 /**
@@ -11,64 +20,208 @@ import barry.tasks.Task;
  * <p>
  * This class stores tasks in insertion order and exposes convenience methods
  * that return a string view of tasks via each task’s {@link Task#toString()}.
- * It is not thread-safe.
+ * </p>
+ * <p>
+ * The tasks are held in a {@link PersistentList}: every mutation swaps in a new version
+ * that shares structure with the previous one, and tasks are never modified in place
+ * (marking replaces a task with an updated copy). A {@linkplain #snapshot() snapshot}
+ * is therefore an immutable view that costs nothing to take, so long-running readers
+ * such as {@link #listTasks()} or a save never see a half-applied change.
+ * </p>
+ * <p>
+ * Every mutation increments a {@linkplain #getVersion() version} counter and is reported
+ * to registered {@link TaskListener}s as a {@link TaskEvent}, so that views over the list
+ * can update incrementally instead of re-scanning it. The list itself uses these events
+ * to maintain ordered indexes for {@link #sortedBy(SortKey)}.
+ * </p>
+ * <p><b>Thread safety:</b> this class is safe for use by multiple threads.
+ * Mutations are serialized by a write lock and each one is atomic, including its bounds
+ * check: an out-of-range index throws {@link BarryException#taskNotFound(int)}, with the size
+ * seen by that check, without changing anything. Readers never lock; they work on the immutable snapshot that was current when
+ * they started, so they run concurrently with writers and never block them. Listeners are
+ * notified while the write lock is held, so they observe changes in order.
  * </p>
  */
 public class TaskList {
-    private final ArrayList<Task> taskList;
+    private final StampedLock lock = new StampedLock();
+
+    private volatile PersistentList<Task> taskList;
+
+    /**
+     * The outcome of {@link #deleteTask(int)}, read under the same lock as the deletion.
+     */
+    public static final class Deletion {
+        private final String task;
+        private final int remaining;
+
+        private Deletion(String task, int remaining) {
+            this.task = task;
+            this.remaining = remaining;
+        }
+
+        /**
+         * @return the removed task's {@link Task#toString() toString()} value
+         */
+        public String getTask() {
+            return task;
+        }
+
+        /**
+         * @return the number of tasks right after the deletion
+         */
+        public int getRemaining() {
+            return remaining;
+        }
+    }
+
+    private final CopyOnWriteArrayList<TaskListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final SortedViews sortedViews = new SortedViews();
+
+    // Incremented on every mutation, always after the new list is published
+    private volatile long version = 0;
 
     public TaskList() {
-        this.taskList = new ArrayList<>();
+        this.taskList = PersistentList.empty();
     }
 
     /**
-     * Creates a {@code TaskList} backed by the provided list.
+     * Creates a {@code TaskList} holding the provided tasks, in order.
      * <p>
-     * Note: the provided list is used directly (no defensive copy).
-     * Mutations through this {@code TaskList} will affect the given list.
+     * The tasks are copied; later changes to {@code taskList} do not affect this list.
      * </p>
      *
-     * @param taskList the underlying list of tasks to use
+     * @param taskList the initial tasks
      */
     public TaskList(ArrayList<Task> taskList) {
-        this.taskList = taskList;
+        this.taskList = PersistentList.of(taskList);
     }
 
     /**
      * Appends a task to the end of the list.
      *
      * @param t the task to add
+     * @return the number of tasks right after the addition
      */
-    public void addTask(Task t) {
-        this.taskList.add(t);
+    public int addTask(Task t) {
+        long stamp = lock.writeLock();
+        try {
+            this.taskList = taskList.append(t);
+            int size = taskList.size();
+            fire(TaskEvent.Kind.ADDED, size - 1, t, null);
+            return size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Removes and returns the string representation of the task at the given index.
+     * Removes the task at the given index.
      *
      * @param index zero-based index of the task to remove
-     * @return the removed task’s {@link Task#toString() toString()} value
-     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     * @return the removed task and the number of tasks left
+     * @throws BarryException if {@code index} is out of range
      */
-    public String deleteTask(int index) {
-        Task t = taskList.get(index);
-        this.taskList.remove(index);
-        return t.toString();
-
+    public Deletion deleteTask(int index) throws BarryException {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index);
+            Task t = taskList.get(index);
+            this.taskList = taskList.delete(index);
+            fire(TaskEvent.Kind.REMOVED, index, t, null);
+            return new Deletion(t.toString(), taskList.size());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
      * Sets the completion status of the task at the given index and returns its string representation.
+     * <p>
+     * The task is replaced by an updated copy (see {@link Task#withIsDone(boolean)}), so earlier
+     * snapshots keep showing its previous status.
+     * </p>
      *
      * @param index  zero-based index of the task to update
      * @param marked {@code true} to mark as done; {@code false} to unmark
      * @return the updated task’s {@link Task#toString() toString()} value
-     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     * @throws BarryException if {@code index} is out of range
+     */
+    public String markTask(int index, boolean marked) throws BarryException {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index);
+            Task previous = taskList.get(index);
+            Task t = previous.withIsDone(marked);
+            this.taskList = taskList.update(index, t);
+            fire(TaskEvent.Kind.MARKED, index, t, previous);
+            return t.toString();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks {@code index} against the current size. Must be called under the write lock.
+     */
+    private void checkIndex(int index) throws BarryException {
+        if (index < 0 || index >= taskList.size()) {
+            throw BarryException.taskNotFound(taskList.size());
+        }
+    }
+
+    /**
+     * Registers a listener to be notified of every subsequent change to this list.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(TaskListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener and returns the contents it starts from.
+     * <p>
+     * Both happen under the write lock, so applying every event the listener later
+     * receives to the returned snapshot reproduces the list exactly: no change is
+     * missed or reported twice.
+     * </p>
+     *
+     * @param listener the listener to add
+     * @return the tasks right before the first change reported to {@code listener}
+     */
+    public PersistentList<Task> subscribe(TaskListener listener) {
+        long stamp = lock.writeLock();
+        try {
+            this.listeners.add(listener);
+            return this.taskList;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(TaskListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Returns the modification counter of this list.
+     * <p>
+     * The value increases by one on every add, remove, or mark, so two equal readings
+     * mean the list has not changed in between. The new version is published after the
+     * new contents, so a caller that reads the version <em>before</em> taking a
+     * {@linkplain #snapshot() snapshot} gets a snapshot at least as new as that version.
+     * </p>
+     *
+     * @return the current version
      */
-    public String markTask(int index, boolean marked) {
-        assert index >= 0 && index < taskList.size() : "index out of bounds";
-        this.taskList.get(index).setIsDone(marked);
-        return taskList.get(index).toString();
+    public long getVersion() {
+        return this.version;
     }
 
     /**
@@ -80,17 +233,121 @@ public class TaskList {
         return this.taskList.size();
     }
 
+    /**
+     * Returns an immutable snapshot of the tasks, in list order.
+     * <p>
+     * Taking a snapshot is {@code O(1)}; later changes to this list are not visible through it.
+     * </p>
+     *
+     * @return the current version of the underlying {@link PersistentList}
+     */
+    public PersistentList<Task> snapshot() {
+        return this.taskList;
+    }
+
+    /**
+     * Returns a read-only view of the tasks, in list order.
+     *
+     * @return an immutable snapshot of the tasks (see {@link #snapshot()})
+     */
+    public List<Task> getTasks() {
+        return snapshot();
+    }
+
+    /**
+     * Returns the tasks in the order given by {@code key}.
+     * <p>
+     * The ordered index for a key is built on first use and then maintained on every
+     * mutation, so repeated calls only pay for the rows that are iterated. Iteration is
+     * weakly consistent: it never fails, but may or may not reflect changes made while
+     * it is in progress.
+     * </p>
+     *
+     * @param key the order to use
+     * @return a read-only, live view of the tasks in that order
+     */
+    public NavigableSet<Task> sortedBy(SortKey key) {
+        NavigableSet<Task> view = sortedViews.get(key);
+        if (view == null) {
+            long stamp = lock.writeLock();
+            try {
+                view = sortedViews.build(key, taskList);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return Collections.unmodifiableNavigableSet(view);
+    }
+
+    /**
+     * Removes every task that was completed before the given cutoff.
+     *
+     * @param cutoff tasks marked as done strictly before this time are removed
+     * @return the number of tasks removed
+     */
+    public int removeCompletedBefore(LocalDateTime cutoff) {
+        long stamp = lock.writeLock();
+        try {
+            int removed = 0;
+            int i = 0;
+            while (i < this.taskList.size()) {
+                Task t = this.taskList.get(i);
+                if (t.isDoneBefore(cutoff)) {
+                    this.taskList = taskList.delete(i);
+                    fire(TaskEvent.Kind.REMOVED, i, t, null);
+                    removed++;
+                } else {
+                    i++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
     /**
      * Returns a snapshot of all tasks as strings, in list order.
      *
      * @return an {@link ArrayList} of {@code toString()} values for each task
      */
     public ArrayList<String> listTasks() {
-        return taskList.stream()
+        return snapshot().stream()
                 .map(Task::toString)
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Returns all tasks as strings in the order given by {@code key}, each prefixed with its
+     * one-based position in the list, e.g. {@code "3.[T][ ] read"}.
+     * <p>
+     * The numbers are the ones {@code mark}, {@code unmark} and {@code delete} take, so a
+     * task can be picked from the sorted listing. Rows are taken from a single snapshot, so
+     * every number matches the task printed beside it.
+     * </p>
+     *
+     * @param key the order to use
+     * @return an {@link ArrayList} of numbered {@code toString()} values, sorted by {@code key}
+     */
+    public ArrayList<String> listTasks(SortKey key) {
+        PersistentList<Task> tasks = snapshot();
+        HashMap<Long, Integer> positions = new HashMap<>();
+        int i = 0;
+        for (Task t : tasks) {
+            positions.put(t.getId(), i++);
+        }
+        ArrayList<String> rows = new ArrayList<>();
+        for (Task t : sortedBy(key)) {
+            // Removed, so that a task seen twice during a concurrent mark is listed once;
+            // absent for a task added after the snapshot
+            Integer position = positions.remove(t.getId());
+            if (position != null) {
+                rows.add((position + 1) + "." + tasks.get(position));
+            }
+        }
+        return rows;
+    }
+
     /**
      * Finds tasks whose descriptions contain the given pattern (case-insensitive)
      * and returns their string representations.
@@ -99,10 +356,34 @@ public class TaskList {
      * @return an {@link ArrayList} of matching tasks’ {@code toString()} values
      */
     public ArrayList<String> findMatchingTasks(String pattern) {
-        return taskList.stream()
-                .filter(t -> t.getDescription().toLowerCase().contains(pattern.toLowerCase()))
+        return snapshot().stream()
+                .filter(matching(pattern))
                 .map(Task::toString)
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Returns the test used by {@link #findMatchingTasks(String)}: whether a task's
+     * description contains the pattern, ignoring case.
+     *
+     * @param pattern the substring to search for
+     * @return a predicate that accepts the matching tasks
+     */
+    public static Predicate<Task> matching(String pattern) {
+        String needle = pattern.toLowerCase();
+        return t -> t.getDescription().toLowerCase().contains(needle);
+    }
+
+    /**
+     * Bumps the version, updates the sorted indexes, and notifies listeners of a change
+     * that has just been applied. Must be called while holding the write lock.
+     */
+    private void fire(TaskEvent.Kind kind, int position, Task t, Task previous) {
+        this.version++;
+        TaskEvent event = new TaskEvent(kind, position, t, previous, this.version);
+        sortedViews.apply(event);
+        for (TaskListener l : this.listeners) {
+            l.onTaskEvent(event);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package barry.data;
+
+/**
+ * Receives change notifications from a {@link TaskList}.
+ * <p>
+ * Listeners are called synchronously on the thread that performed the change, after
+ * the change has been applied. They should return quickly and must not modify the
+ * list they are listening to.
+ * </p>
+ */
+@FunctionalInterface
+public interface TaskListener {
+
+    /**
+     * Called after a task has been added, removed, or marked.
+     *
+     * @param event the description of the change
+     */
+    void onTaskEvent(TaskEvent event);
+}
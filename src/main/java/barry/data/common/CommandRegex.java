@@ -1,110 +1,330 @@
 package barry.data.common;
 
 import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
 
+import barry.data.SortKey;
 import barry.data.exceptions.BarryException;
 
 /**
- * Defines the set of command tags and their full-line regular expressions
+ * Defines the set of command tags and the syntax of their arguments
  * for parsing user input.
  * <p>
  * Each enum constant pairs a command {@code tag} (the first token in the input)
- * with a compiled {@link Pattern} that is used to validate and extract arguments
- * from the complete command line via {@link Matcher#matches() matches()}.
- * Some commands share the same tag but have different patterns (e.g.,
- * {@code HELP} and {@code DETAILED_HELP} both use {@code "help"}), allowing
- * multiple syntaxes under a single verb.
+ * with a hand-written {@link Syntax} that validates the rest of the line and splits
+ * it into components. Lines are resolved in a single pass: the tag is looked up in
+ * a hash table, and its syntax then scans the arguments once, finding markers such
+ * as {@code /by}, {@code /from} and {@code /to} by index rather than by regular
+ * expressions. Some tags accept several forms (e.g., {@code help} and
+ * {@code help --details}), allowing multiple syntaxes under a single verb.
+ * </p>
+ * <p>
+ * The accepted forms are:
+ * <ul>
+ *   <li>{@code todo {description}}</li>
+ *   <li>{@code deadline {description} /by {datetime}}</li>
+ *   <li>{@code event {description} /from {datetime} /to {datetime}}</li>
+ *   <li>{@code mark {id}}, {@code unmark {id}}, {@code delete {id}}</li>
+ *   <li>{@code list}, {@code list --archived}, {@code list --sort {key}}</li>
+ *   <li>{@code find {query}}, {@code find --archived {query}}</li>
+ *   <li>{@code help}, {@code help --details}, {@code bye}, {@code source {path}}</li>
+ *   <li>{@code alias}, {@code alias add {name}='{template}'}, {@code alias rm {name}}</li>
+ * </ul>
+ * When a marker occurs more than once, the last {@code /by} (or {@code /to}, then the
+ * last {@code /from} before it) is taken, so earlier occurrences stay part of the
+ * description.
  * </p>
  */
 public enum CommandRegex {
-    TODO("todo", Pattern.compile("todo (.*)")),
-    DEADLINE("deadline", Pattern.compile("deadline (.*) /by (.*)")),
-    EVENT("event", Pattern.compile("event (.*) /from (.*) /to (.*)")),
-    MARK("mark", Pattern.compile("mark ([0-9]+)")),
-    UNMARK("unmark", Pattern.compile("unmark ([0-9]+)")),
-    LIST("list", Pattern.compile("list")),
-    DELETE("delete", Pattern.compile("delete ([0-9]+)")),
-    FIND("find", Pattern.compile("find (.*)")),
-    HELP("help", Pattern.compile("help( --details|)")),
-    BYE("bye", Pattern.compile("bye")),
-    ALIAS("alias", Pattern.compile("alias"));
+    TODO("todo", CommandRegex::rest),
+    DEADLINE("deadline", CommandRegex::deadline),
+    EVENT("event", CommandRegex::event),
+    MARK("mark", CommandRegex::number),
+    UNMARK("unmark", CommandRegex::number),
+    LIST("list", CommandRegex::list),
+    DELETE("delete", CommandRegex::number),
+    FIND("find", CommandRegex::find),
+    HELP("help", (command, from) -> flag(command, from, "--details")),
+    BYE("bye", CommandRegex::none),
+    SOURCE("source", CommandRegex::rest),
+    ALIAS("alias", CommandRegex::alias);
+
+    private static final String BY = " /by ";
+    private static final String FROM = " /from ";
+    private static final String TO = " /to ";
+    private static final String ARCHIVED = " --archived ";
+    private static final String SORT = "--sort ";
+    private static final String ADD = " add ";
+    private static final String RM = " rm ";
+
+    private static final HashMap<String, CommandRegex> BY_TAG = new HashMap<>();
+
+    static {
+        for (CommandRegex c : values()) {
+            BY_TAG.put(c.tag, c);
+        }
+    }
+
+    /**
+     * Splits the arguments of a command line into components.
+     */
+    @FunctionalInterface
+    private interface Syntax {
+        /**
+         * @param command the complete input line
+         * @param from    the index just past the tag
+         * @return the trimmed components, or {@code null} if the line does not conform
+         */
+        ArrayList<String> split(String command, int from);
+    }
 
     private final String tag;
-    private final Pattern pattern;
+    private final Syntax syntax;
 
     /**
-     * Creates a {@code CommandRegex} with the given {@code tag} and compiled {@code pattern}.
+     * Creates a {@code CommandRegex} with the given {@code tag} and argument {@code syntax}.
      *
-     * @param tag     the leading token used to identify the command (e.g., {@code "todo"})
-     * @param pattern the compiled regular expression that must match the entire input line
+     * @param tag    the leading token used to identify the command (e.g., {@code "todo"})
+     * @param syntax the rule that validates and splits the rest of the input line
      */
-    CommandRegex(String tag, Pattern pattern) {
+    CommandRegex(String tag, Syntax syntax) {
         this.tag = tag;
-        this.pattern = pattern;
+        this.syntax = syntax;
     }
 
     /**
-     * Resolves the given input line to a {@link CommandRegex} by tag and full-pattern match.
+     * Resolves and splits the given input line in a single pass.
      * <p>
      * Steps:
      * <ol>
-     *   <li>Extract the first whitespace-delimited token of {@code command} as the tag.</li>
-     *   <li>Iterate over enum constants; for those whose {@code tag} equals the extracted tag,
-     *       return the first whose pattern <em>fully</em> matches the entire input
-     *       (via {@link java.util.regex.Matcher#matches()}).</li>
-     *   <li>If the tag is recognized but none of its patterns match the full input,
+     *   <li>Take the text before the first space of {@code command} as the tag and look it up.</li>
+     *   <li>If the tag is unknown, throw a generic invalid-command {@link BarryException}.</li>
+     *   <li>Otherwise split the arguments with the tag's syntax. If they do not conform,
      *       throw a {@link BarryException} that suggests the corresponding {@link CommandType}.</li>
-     *   <li>If no enum constant shares the tag (i.e., the tag is unknown), throw a generic
-     *       invalid-command {@link BarryException}.</li>
      * </ol>
      * </p>
      *
      * @param command the complete user input line to parse
+     * @return the matched constant together with its components
+     * @throws BarryException if the tag is unknown, or if the tag is known but the input does not
+     *                        satisfy its syntax
+     */
+    public static CommandTokens tokenize(String command) throws BarryException {
+        int space = command.indexOf(' ');
+        int from = space < 0 ? command.length() : space;
+        CommandRegex c = BY_TAG.get(command.substring(0, from));
+        if (c == null) {
+            throw BarryException.commandException();
+        }
+        ArrayList<String> components = c.syntax.split(command, from);
+        if (components == null) {
+            throw BarryException.commandException(new CommandType[]{CommandType.parseCommand(c.tag)});
+        }
+        components.add(0, c.tag);
+        return new CommandTokens(c, components);
+    }
+
+    /**
+     * Returns whether {@code word} is the tag of a built-in command.
+     *
+     * @param word the word to check (e.g., {@code "list"})
+     * @return {@code true} if some command uses {@code word} as its tag
+     */
+    public static boolean isTag(String word) {
+        return BY_TAG.containsKey(word);
+    }
+
+    /**
+     * Returns the tags of all built-in commands, e.g. {@code "todo"} and {@code "list"}.
+     *
+     * @return an unmodifiable view of the tags
+     */
+    public static Set<String> tags() {
+        return Collections.unmodifiableSet(BY_TAG.keySet());
+    }
+
+    /**
+     * Resolves the given input line to a {@link CommandRegex}.
+     *
+     * @param command the complete user input line to parse
      * @return the matching {@code CommandRegex} enum constant
      * @throws BarryException if the tag is unknown, or if the tag is known but the input does not
-     *                        satisfy any expected pattern for that tag
+     *                        satisfy its syntax
+     * @see #tokenize(String)
      */
     public static CommandRegex parseCommand(String command) throws BarryException {
-        String commandTag = command.split(" ")[0];
-        for (CommandRegex t : CommandRegex.values()) {
-            if (commandTag.equals(t.tag)) {
-                if (t.pattern.matcher(command).matches()) {
-                    return t;
-                } else {
-                    CommandType c = CommandType.parseCommand(commandTag);
-                    throw BarryException.commandException(new CommandType[]{c});
-                }
-            }
-        }
-        throw BarryException.commandException();
+        return tokenize(command).getType();
     }
 
     /**
-     * Extracts structured components from {@code command} according to this entry's pattern.
+     * Extracts structured components from {@code command} according to this entry's syntax.
      * <p>
-     * The returned list always includes the command {@code tag} as the first element.
-     * If the input fully matches the pattern, subsequent elements correspond to each
-     * capturing group in order (from group 1 to {@link Matcher#groupCount()}), with
-     * leading and trailing whitespace trimmed. If a capturing group matches an empty
-     * string, the corresponding element will be {@code ""}. If the input does not
-     * match the pattern, only the {@code tag} is returned.
+     * The returned list always includes the command {@code tag} as the first element,
+     * followed by each argument, with leading and trailing whitespace trimmed. An
+     * optional argument that is absent is {@code ""}. If the input does not conform to
+     * the syntax, only the {@code tag} is returned. Prefer {@link #tokenize(String)},
+     * which resolves and splits a line at once.
      * </p>
      *
      * @param command the complete user input line to extract from
      * @return an {@link ArrayList} where index 0 is the command tag and subsequent indices
-     *     are the trimmed contents of each capturing group (if any)
+     *     are the trimmed arguments (if any)
      */
     public ArrayList<String> extractComponents(String command) {
-        ArrayList<String> components = new ArrayList<>();
-        Matcher matcher = pattern.matcher(command);
-        components.add(this.tag);
-        if (matcher.matches()) {
-            for (int i = 1; i <= matcher.groupCount(); i++) {
-                components.add(matcher.group(i).trim());
-            }
+        ArrayList<String> components = null;
+        if (command.startsWith(tag) && (command.length() == tag.length() || command.charAt(tag.length()) == ' ')) {
+            components = syntax.split(command, tag.length());
+        }
+        if (components == null) {
+            components = new ArrayList<>();
         }
+        components.add(0, tag);
         return components;
     }
+
+    // ---- syntaxes ----
+
+    private static ArrayList<String> none(String command, int from) {
+        return from == command.length() ? new ArrayList<>() : null;
+    }
+
+    private static ArrayList<String> components(String... parts) {
+        ArrayList<String> components = new ArrayList<>(parts.length + 1);
+        for (String p : parts) {
+            components.add(p.trim());
+        }
+        return components;
+    }
+
+    /**
+     * {@code tag} or {@code tag <option>}; the component is the option, or {@code ""}.
+     */
+    private static ArrayList<String> flag(String command, int from, String option) {
+        if (from == command.length()) {
+            return components("");
+        }
+        if (command.length() == from + 1 + option.length() && command.startsWith(option, from + 1)) {
+            return components(option);
+        }
+        return null;
+    }
+
+    /**
+     * {@code tag {anything}}.
+     */
+    private static ArrayList<String> rest(String command, int from) {
+        if (from == command.length()) {
+            return null;
+        }
+        return components(command.substring(from + 1));
+    }
+
+    /**
+     * {@code tag {digits}}.
+     */
+    private static ArrayList<String> number(String command, int from) {
+        int start = from + 1;
+        if (start >= command.length()) {
+            return null;
+        }
+        for (int i = start; i < command.length(); i++) {
+            char ch = command.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return null;
+            }
+        }
+        return components(command.substring(start));
+    }
+
+    private static ArrayList<String> deadline(String command, int from) {
+        int by = command.lastIndexOf(BY);
+        if (by < from + 1) {
+            return null;
+        }
+        return components(command.substring(from + 1, by), command.substring(by + BY.length()));
+    }
+
+    private static ArrayList<String> event(String command, int from) {
+        int to = command.lastIndexOf(TO);
+        int start = to < 0 ? -1 : command.lastIndexOf(FROM, to - FROM.length());
+        if (start < from + 1) {
+            return null;
+        }
+        return components(command.substring(from + 1, start),
+                command.substring(start + FROM.length(), to),
+                command.substring(to + TO.length()));
+    }
+
+    private static ArrayList<String> list(String command, int from) {
+        ArrayList<String> archived = flag(command, from, "--archived");
+        if (archived != null) {
+            return archived;
+        }
+        if (command.startsWith(SORT, from + 1)
+                && SortKey.fromKeyword(command.substring(from + 1 + SORT.length())) != null) {
+            return components(command.substring(from + 1));
+        }
+        return null;
+    }
+
+    /**
+     * {@code alias}, {@code alias add {name}='{template}'} (or double quotes) or
+     * {@code alias rm {name}}; the components are the action, the name and the unquoted
+     * template, each {@code ""} when absent.
+     */
+    private static ArrayList<String> alias(String command, int from) {
+        if (from == command.length()) {
+            return components("", "", "");
+        }
+        if (command.startsWith(RM, from)) {
+            String name = command.substring(from + RM.length()).trim();
+            return isWord(name) ? components("rm", name, "") : null;
+        }
+        if (!command.startsWith(ADD, from)) {
+            return null;
+        }
+        int eq = command.indexOf('=', from + ADD.length());
+        if (eq < 0) {
+            return null;
+        }
+        String name = command.substring(from + ADD.length(), eq).trim();
+        String rhs = command.substring(eq + 1).trim();
+        int n = rhs.length();
+        if (!isWord(name) || n < 3) {
+            return null;
+        }
+        char quote = rhs.charAt(0);
+        if ((quote != '\'' && quote != '"') || rhs.charAt(n - 1) != quote) {
+            return null;
+        }
+        return components("add", name, rhs.substring(1, n - 1));
+    }
+
+    private static boolean isWord(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isWhitespace(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code find {query}} or {@code find --archived {query}}; a bare {@code --archived}
+     * is treated as the query itself.
+     */
+    private static ArrayList<String> find(String command, int from) {
+        if (from == command.length()) {
+            return null;
+        }
+        if (command.startsWith(ARCHIVED, from)) {
+            return components(ARCHIVED, command.substring(from + ARCHIVED.length()));
+        }
+        return components("", command.substring(from + 1));
+    }
 }
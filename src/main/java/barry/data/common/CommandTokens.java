@@ -0,0 +1,48 @@
+package barry.data.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of splitting one command line with {@link CommandRegex#tokenize(String)}.
+ * <p>
+ * Holds the matched {@link CommandRegex} together with its components, laid out as
+ * by {@link CommandRegex#extractComponents(String)}: index 0 is the command tag and
+ * the following indices are the trimmed arguments.
+ * </p>
+ */
+public final class CommandTokens {
+    private final CommandRegex type;
+    private final List<String> components;
+
+    CommandTokens(CommandRegex type, ArrayList<String> components) {
+        this.type = type;
+        this.components = Collections.unmodifiableList(components);
+    }
+
+    public CommandRegex getType() {
+        return type;
+    }
+
+    /**
+     * @return the tag followed by the trimmed arguments
+     */
+    public List<String> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the component at {@code index}, where index 0 is the command tag.
+     *
+     * @param index the position of the component
+     * @return the component
+     */
+    public String get(int index) {
+        return components.get(index);
+    }
+
+    public int size() {
+        return components.size();
+    }
+}
@@ -32,13 +32,26 @@ public enum CommandType {
     MARK("mark", "mark {id}", "mark 2"),
     UNMARK("unmark", "unmark {id}", "unmark 3"),
     LIST("list", "list", "list"),
+    ARCHIVED_LIST("list --archived", "list --archived", "list --archived"),
+    SORTED_LIST("list --sort", "list --sort {due|start|name|status}", "list --sort due"),
     DELETE("delete", "delete {id}", "delete 2"),
     FIND("find", "find {description}", "find book"),
+    ARCHIVED_FIND("find --archived", "find --archived {description}", "find --archived book"),
     BYE("bye", "bye", "bye"),
+    SOURCE("source", "source {path}", "source commands.txt"),
     HELP("help", "help", "help"),
     DETAILED_HELP("help --details", "help --details", "help --details"),
-    ALIASES("alias", "alias", "alias");
+    ALIASES("alias", "alias", "alias"),
+    ADD_ALIAS("alias add", "alias add {name}='{template}'", "alias add dl='deadline {2} /by {1} 23:59'"),
+    DELETE_ALIAS("alias rm", "alias rm {name}", "alias rm dl");
 
+    // The help listings never change, so they are built once when the enum is initialized
+    private static final String ALL_COMMANDS = Arrays.stream(values())
+            .map(c -> "\t" + c.getType())
+            .collect(Collectors.joining("\n")) + "\n";
+    private static final String ALL_COMMANDS_DETAILED = Arrays.stream(values())
+            .map(c -> "\t" + c.getFormula() + "\n\t\te.g.: " + c.getExample() + "\n")
+            .collect(Collectors.joining("\n"));
 
     private final String type;
     private final String formula;
@@ -79,7 +92,7 @@ public enum CommandType {
     }
 
     /**
-     * Builds a simple, human-readable listing of all supported command types.
+     * Returns a simple, human-readable listing of all supported command types.
      * <p>
      * The returned string contains one command per line, each prefixed with a tab.
      * </p>
@@ -87,13 +100,11 @@ public enum CommandType {
      * @return a formatted string enumerating all command tags
      */
     public static String allCommands() {
-        return Arrays.stream(values())
-                .map(c -> "\t" + c.getType())
-                .collect(Collectors.joining("\n")) + "\n";
+        return ALL_COMMANDS;
     }
 
     /**
-     * Builds a detailed usage guide for all commands, including their formulas and examples.
+     * Returns a detailed usage guide for all commands, including their formulas and examples.
      * <p>
      * The returned string lists each command’s formula on one line (prefixed with a tab),
      * followed by an indented example line.
@@ -102,9 +113,7 @@ public enum CommandType {
      * @return a formatted string with each command’s formula and example
      */
     public static String allCommandsDetailed() {
-        return Arrays.stream(values())
-                .map(c -> "\t" + c.getFormula() + "\n\t\te.g.: " + c.getExample() + "\n")
-                .collect(Collectors.joining("\n"));
+        return ALL_COMMANDS_DETAILED;
     }
 
     public String getType() {
@@ -1,5 +1,7 @@
 package barry.data.exceptions;
 
+import java.util.List;
+
 import barry.data.common.CommandType;
 
 /**
@@ -57,6 +59,26 @@ public class BarryException extends Exception {
         return new BarryException(s.toString());
     }
 
+    /**
+     * Returns a {@code BarryException} for a command whose first word is unknown but close
+     * to the names of known commands or aliases.
+     *
+     * @param word        the unknown word
+     * @param suggestions the names of the commands or aliases the user may have meant
+     * @return an exception describing an unknown command with suggestions
+     */
+    public static BarryException unknownCommand(String word, List<String> suggestions) {
+        StringBuilder s = new StringBuilder("Unknown command '").append(word).append("'. Did you mean ");
+        for (int i = 0; i < suggestions.size(); i++) {
+            if (i > 0) {
+                s.append(i == suggestions.size() - 1 ? " or " : ", ");
+            }
+            s.append("'").append(suggestions.get(i)).append("'");
+        }
+        s.append("?\nType 'help' or 'help --details' for more information about the valid commands");
+        return new BarryException(s.toString());
+    }
+
     /**
      * Returns a {@code BarryException} indicating a missing task description.
      *
@@ -116,6 +138,66 @@ public class BarryException extends Exception {
         return new BarryException("Invalid source file path");
     }
 
+    /**
+     * Returns a {@code BarryException} indicating that the archive of completed tasks
+     * could not be read.
+     *
+     * @return an exception describing an unreadable archive
+     */
+    public static BarryException archiveUnavailable() {
+        return new BarryException("Cannot access the archive of completed tasks");
+    }
+
+    /**
+     * Returns a {@code BarryException} indicating that no alias has the given name.
+     *
+     * @param name the alias name that was looked up
+     * @return an exception describing the unknown alias
+     */
+    public static BarryException aliasNotFound(String name) {
+        return new BarryException("There is no alias named '" + name + "'");
+    }
+
+    /**
+     * Returns a {@code BarryException} indicating that an alias would shadow a built-in command.
+     *
+     * @param name the rejected alias name
+     * @return an exception describing the reserved name
+     */
+    public static BarryException reservedAliasName(String name) {
+        return new BarryException("'" + name + "' is a command and cannot be used as an alias name");
+    }
+
+    /**
+     * Returns a {@code BarryException} indicating that the alias file could not be written.
+     *
+     * @return an exception describing an unwritable alias file
+     */
+    public static BarryException aliasFileUnavailable() {
+        return new BarryException("Cannot save aliases to the alias file");
+    }
+
+    /**
+     * Returns a {@code BarryException} indicating that a script file could not be read.
+     *
+     * @param path the path of the script
+     * @return an exception describing the unreadable script
+     */
+    public static BarryException scriptUnavailable(String path) {
+        return new BarryException("Cannot read the script " + path);
+    }
+
+    /**
+     * Returns a {@code BarryException} indicating that a script sources itself,
+     * directly or through other scripts.
+     *
+     * @param path the path of the script
+     * @return an exception describing the recursive script
+     */
+    public static BarryException recursiveScript(String path) {
+        return new BarryException("The script " + path + " is already running");
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof BarryException) {
@@ -1,66 +1,121 @@
 package barry.javafx;
 
-import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a single chat bubble rendered in the conversation view.
  * <p>
  * Each {@code DialogBox} consists of an avatar ({@link ImageView}) and a text
- * label. The FXML markup is loaded from {@code /view/DialogBox.fxml}, after
- * which the instance is styled using CSS classes:
+ * label. The nodes are built in code rather than loaded from FXML, since parsing the
+ * markup for every bubble dominated the time taken to show a reply. The instance is
+ * then styled using {@code /css/dialog-box.css} and these CSS classes:
  * </p>
  * <ul>
  *   <li><b>{@code user-label}</b> – the user's message bubble (right-aligned)</li>
  *   <li><b>{@code reply-label}</b> – Barry's message bubble (left-aligned)</li>
  *   <li><b>{@code error-label}</b> – error bubble to highlight problems (left-aligned)</li>
+ *   <li><b>{@code pending-label}</b> – Barry's bubble while a reply is being computed
+ *       (left-aligned)</li>
  * </ul>
  * <p>
  * Use the static factory methods to obtain correctly styled/positioned dialog boxes:
- * {@link #getUserDialog(String, Image)}, {@link #getBarryDialog(String, Image)},
- * and {@link #getErrorDialog(String, Image)}.
+ * {@link #getUserDialog(String, Image)}, {@link #getBarryDialog(String, Image)}
+ * and {@link #getErrorDialog(String, Image)}. A bubble can also be reused for another
+ * message with {@link #show(String, Image, String, boolean)}, as {@link MessageCell} does.
  * </p>
  */
 public class DialogBox extends HBox {
+    private static final List<String> BUBBLE_STYLES =
+            List.of("user-label", "reply-label", "error-label", "pending-label");
 
-    @FXML
-    private Label dialog;
+    // Resolved once; the parsed stylesheet itself is shared by JavaFX
+    private static final String STYLESHEET =
+            DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
 
-    @FXML
-    private ImageView displayPicture;
+    private static final Insets BOX_PADDING = new Insets(15, 5, 15, 5);
+    private static final Insets LABEL_MARGIN = new Insets(0, 7, 0, 7);
+    private static final Insets LABEL_PADDING = new Insets(6);
+    private static final double AVATAR_SIZE = 99;
+
+    private final Label dialog = new Label();
+
+    private final ImageView displayPicture = new ImageView();
+
+    /**
+     * Creates an empty, right-aligned {@code DialogBox}.
+     */
+    DialogBox() {
+        dialog.setId("dialog");
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setWrapText(true);
+        dialog.setPadding(LABEL_PADDING);
+        HBox.setMargin(dialog, LABEL_MARGIN);
+
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitHeight(AVATAR_SIZE);
+        displayPicture.setFitWidth(AVATAR_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400);
+        setPadding(BOX_PADDING);
+        setAlignment(Pos.TOP_RIGHT);
+        getStylesheets().add(STYLESHEET);
+        getChildren().setAll(dialog, displayPicture);
+    }
 
     /**
-     * Creates a {@code DialogBox} by loading {@code /view/DialogBox.fxml} and
-     * populating the text and avatar.
+     * Creates a {@code DialogBox} populated with the text and avatar.
      *
      * @param text the message to display
      * @param img  the avatar image to show beside the message
      */
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            // In this context, failing fast is acceptable; log to stderr for debugging.
-            e.printStackTrace();
-        }
+        this();
         dialog.setText(text);
         displayPicture.setImage(img);
     }
 
+    /**
+     * Refills this bubble with another message.
+     * <p>
+     * User bubbles are right-aligned with the avatar on the right; all others are
+     * left-aligned with the avatar on the left. Unlike {@link #flip()}, this may be
+     * called any number of times.
+     * </p>
+     *
+     * @param text       the message to display
+     * @param img        the avatar image to show beside the message
+     * @param styleClass the CSS class of the label, e.g. {@code reply-label}
+     * @param isUser     {@code true} for the user's message
+     */
+    void show(String text, Image img, String styleClass, boolean isUser) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        dialog.getStyleClass().removeAll(BUBBLE_STYLES);
+        dialog.getStyleClass().add(styleClass);
+        if (isUser) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+        }
+    }
+
     /**
      * Flips the child order so that the avatar is placed on the <em>left</em> and
      * the text bubble on the <em>right</em>, and left-aligns the row.
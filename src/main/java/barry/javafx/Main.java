@@ -12,10 +12,13 @@ import javafx.stage.Stage;
 
 /**
  * A GUI for Source.Barry using FXML.
+ * <p>
+ * The window is shown before the aliases and tasks are loaded; {@link MainWindow} loads them
+ * in the background.
+ * </p>
  */
 public class Main extends Application {
-
-    private Barry barry = new Barry();
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -24,7 +27,8 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setBarry(barry); // inject the Source.Barry instance
+            mainWindow = fxmlLoader.getController();
+            mainWindow.start(Barry::new); // load Source.Barry in the background
             stage.setTitle("Barry - Personal Task Assistant"); // <- shows on the OS title bar
             stage.getIcons().add(new Image(
                     getClass().getResource("/images/DaBarry.png").toExternalForm() // optional app icon
@@ -34,4 +38,11 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.stop();
+        }
+    }
 }
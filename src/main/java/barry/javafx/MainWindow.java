@@ -1,19 +1,31 @@
 package barry.javafx;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import barry.Barry;
+import barry.commands.PagedResponse;
 import barry.data.exceptions.BarryException;
-import barry.ui.Gui;
+import barry.ui.Ui;
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
 /**
@@ -24,18 +36,62 @@ import javafx.util.Duration;
  * position pinned to the latest message, and handles user input events.
  * </p>
  * <p>
+ * The conversation is a list of {@link Message}s shown in a virtualized {@link ListView}:
+ * only the bubbles in view exist as nodes, and {@link MessageCell}s are reused while
+ * scrolling, so a long session does not slow down layout or grow the scene graph.
+ * </p>
+ * <p>
+ * At most {@code barry.gui.history} messages (a system property, 500 by default) are kept
+ * in memory. Older ones are moved, a page at a time, to a {@link Transcript} of the session
+ * in the data directory, and a link at the top of the conversation loads them back a page
+ * at a time. Pages loaded back are the first to be dropped again once new messages arrive,
+ * so memory stays bounded however long the window stays open. The transcript is only
+ * accessed on a background thread, one page at a time: a page leaves memory once it has
+ * been written, and a page read back is shown once it has been read.
+ * </p>
+ * <p>
+ * The tasks listed by {@code list} and {@code find} arrive {@value #PAGE_ROWS} at a time,
+ * each page in its own bubble, followed by a link that renders the next page. However long
+ * the list, the first rows appear as quickly as for a short one.
+ * </p>
+ * <p>
  * Responsibilities:
  * </p>
  * <ul>
  *   <li>Auto-scroll the conversation view as new messages arrive.</li>
- *   <li>Display Barry's greeting upon initialization via {@link #setBarry(Barry)}.</li>
- *   <li>Handle user input (pressing the send button / Enter) and render the
- *       corresponding user/bot dialog boxes.</li>
+ *   <li>Display Barry's greeting and load the backend via {@link #start(Supplier)}.</li>
+ *   <li>Show the tasks in a {@link TaskTable} beside the conversation, filtered by the
+ *       text of the filter box.</li>
+ *   <li>Handle user input (pressing the send button / Enter) and add the
+ *       corresponding user/bot messages.</li>
  *   <li>Show errors in a dedicated error bubble.</li>
  *   <li>Schedule application exit after a short delay when the user types {@code bye}.</li>
  * </ul>
+ * <p>
+ * Commands, including the file writes they cause, never run on the JavaFX Application
+ * Thread: they are queued on a single background thread, so they run one at a time in the
+ * order they were typed while the window keeps rendering. Each reply is shown in a pending
+ * bubble that is filled in, on the JavaFX Application Thread, once the command is done.
+ * </p>
+ * <p>
+ * The backend itself is created by the first job on that thread, so the window and the
+ * greeting appear before the data file has been read, and commands typed in the meantime
+ * simply wait in the queue until loading is done.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
+    private static final Path TRANSCRIPT_PATH =
+            Paths.get(System.getProperty("user.home"), "Barry data", "transcript.txt");
+
+    // Messages kept in memory; at least one page, so that there is always a page to move out
+    private static final int HISTORY_SIZE =
+            Math.max(Transcript.PAGE_SIZE, Integer.getInteger("barry.gui.history", 500));
+
+    // Rows of a list or find response per bubble
+    private static final int PAGE_ROWS = 500;
+
+    private static final String LOAD_FAILURE = "Barry could not load your data, so commands cannot run";
+
     /**
      * Avatar for the user bubbles.
      */
@@ -47,52 +103,107 @@ public class MainWindow extends AnchorPane {
     private final Image barryImage =
             new Image(this.getClass().getResourceAsStream("/images/DaBarry.png"));
     @FXML
-    private ScrollPane scrollPane;
+    private ListView<Message> dialogList;
     @FXML
-    private VBox dialogContainer;
+    private TaskTable taskTable;
+    @FXML
+    private TextField filterField;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
     /**
-     * Barry backend that processes user commands and produces replies.
+     * The conversation so far, oldest first.
+     */
+    private final ObservableList<Message> messages = FXCollections.observableArrayList();
+    /**
+     * Where messages go once they no longer fit in memory. Only used on the transcript thread.
+     */
+    private final Transcript transcript = new Transcript(TRANSCRIPT_PATH);
+    /**
+     * The number of pages written to the transcript.
+     */
+    private int writtenPages;
+    /**
+     * The number of transcript pages loaded back into {@link #messages}.
+     */
+    private int loadedPages;
+    /**
+     * Whether a page is being written to or read from the transcript. Until it is done,
+     * {@link #messages} is neither trimmed nor extended at the top.
+     */
+    private boolean isTranscriptBusy;
+    /**
+     * Barry backend that processes user commands and produces replies, or {@code null} if
+     * loading it failed. Only used on the command thread, which creates it.
      */
     private Barry barry;
+    /**
+     * Runs commands off the JavaFX Application Thread, one at a time and in input order.
+     */
+    private final ExecutorService commands = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "barry-gui-commands");
+        // Must not keep the JVM alive once the window is closed
+        t.setDaemon(true);
+        return t;
+    });
+    /**
+     * Writes and reads the transcript off the JavaFX Application Thread.
+     */
+    private final ExecutorService transcriptIo = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "barry-gui-transcript");
+        t.setDaemon(true);
+        return t;
+    });
 
     /**
      * Initializes view behavior after the FXML has been loaded.
      * <p>
      * This method is called automatically by the {@code FXMLLoader}.
-     * It binds the scroll position to the conversation container height
-     * so that the latest message is always visible, and enables width-based
-     * reflow for a responsive layout.
+     * It backs the conversation view with {@link #messages}, renders every
+     * message with a {@link MessageCell}, and filters the task table as the
+     * user types in the filter box.
      * </p>
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        // Ensure the window is resizable-friendly
-        scrollPane.setFitToWidth(true);
-        dialogContainer.setFillWidth(true);
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new MessageCell(userImage, barryImage, this::followLink));
+        filterField.textProperty().addListener((observable, old, text) -> taskTable.filter(text));
     }
 
     /**
-     * Injects the backend instance and shows Barry's greeting.
+     * Shows Barry's greeting and starts loading the backend.
      * <p>
      * This method must be called by the application bootstrap after
-     * constructing {@code MainWindow}. It stores the provided {@link Barry}
-     * instance for subsequent requests and renders the initial greeting
-     * message in the dialog container.
+     * constructing {@code MainWindow}. The greeting is rendered right away;
+     * {@code loader} runs on the command thread, ahead of any command, and
+     * the task table shows a progress indicator until it is done. If
+     * {@code loader} fails, the failure is shown in the conversation and in
+     * the task table, and every command typed afterwards is answered with an error.
      * </p>
      *
-     * @param barry the Barry backend to use for generating replies
-     */
-    public void setBarry(Barry barry) {
-        this.barry = barry;
-        // show initial message from Barry/Gui
-        dialogContainer.getChildren().add(
-                DialogBox.getBarryDialog(barry.getGreeting(), barryImage)
-        );
+     * @param loader creates the Barry backend to use for generating replies,
+     *               e.g. {@code Barry::new}
+     */
+    public void start(Supplier<Barry> loader) {
+        // show initial message from Barry
+        append(Message.reply(Barry.getGreeting()));
+        commands.execute(() -> {
+            try {
+                barry = loader.get();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                String reason = LOAD_FAILURE + ": " + e.getMessage();
+                Platform.runLater(() -> {
+                    taskTable.showLoadFailure(reason);
+                    append(Message.error(reason));
+                });
+                return;
+            }
+            Barry loaded = barry;
+            Platform.runLater(() -> taskTable.watch(loaded));
+        });
     }
 
     /**
@@ -102,11 +213,15 @@ public class MainWindow extends AnchorPane {
      * </p>
      * <ol>
      *   <li>Reads and clears the text from the input field; returns early if blank.</li>
-     *   <li>If the user typed {@code "bye"}, schedules an application exit after 1 second.</li>
-     *   <li>Asks {@link Barry} for a response and appends both the user bubble and
-     *       Barry's reply to the dialog container.</li>
-     *   <li>If a {@link BarryException} is thrown, formats the error message using
-     *       {@link Gui} and renders it as an error bubble.</li>
+     *   <li>Appends the user message and a pending message for Barry's reply.</li>
+     *   <li>Queues the command, which asks {@link Barry} for a response on the background
+     *       thread. If a {@link BarryException} or any other runtime exception is thrown,
+     *       or the backend failed to load, the error message is formatted using a plain
+     *       {@link Ui}.</li>
+     *   <li>Replaces the pending message with the reply or error on the JavaFX Application
+     *       Thread, followed by a link to the next page if the reply is paged. If the command
+     *       ends the session ({@code bye}, or an alias for it), schedules an application exit
+     *       1 second later, after the task list has been saved.</li>
      * </ol>
      * <p>
      * All UI updates occur on the JavaFX Application Thread.
@@ -121,26 +236,232 @@ public class MainWindow extends AnchorPane {
 
         userInput.clear();
 
-        if (input.equals("bye")) {
-            PauseTransition delay = new PauseTransition(Duration.millis(1000));
-            delay.setOnFinished(e -> Platform.exit());
-            delay.play();
+        Message pending = Message.pending();
+        append(Message.user(input));
+        append(pending);
+
+        commands.execute(() -> {
+            if (barry == null) {
+                showError(pending, LOAD_FAILURE);
+                return;
+            }
+            boolean isExit = false;
+            try {
+                PagedResponse response = barry.getPagedResponse(input, PAGE_ROWS);
+                isExit = response.isExit();
+                showNextPage(response, pending);
+            } catch (BarryException e) {
+                showError(pending, e.getMessage());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                showError(pending, "Something went wrong: " + e.getMessage());
+            }
+            if (isExit) {
+                Platform.runLater(() -> {
+                    PauseTransition delay = new PauseTransition(Duration.millis(1000));
+                    delay.setOnFinished(e -> Platform.exit());
+                    delay.play();
+                });
+            }
+        });
+    }
+
+    /**
+     * Adds a message to the end of the conversation and scrolls to it.
+     */
+    private void append(Message message) {
+        messages.add(message);
+        trim();
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Keeps at most {@link #HISTORY_SIZE} messages in memory. Pages loaded back from the
+     * transcript are dropped first, as they are already on disk; then the oldest messages are
+     * moved to the transcript, a page at a time.
+     */
+    private void trim() {
+        while (!isTranscriptBusy && messages.size() - firstMessage() > HISTORY_SIZE) {
+            int from = firstMessage();
+            List<Message> page = messages.subList(from, from + Transcript.PAGE_SIZE);
+            if (loadedPages == 0) {
+                if (page.stream().noneMatch(m -> m.getKind() == Message.Kind.PENDING)) {
+                    spill(List.copyOf(page));
+                }
+                // Otherwise still to be resolved in place; try again with the next message
+                return;
+            }
+            loadedPages--;
+            page.clear();
+            if (from == 0) {
+                messages.add(0, Message.earlier());
+            }
         }
+    }
 
+    /**
+     * Writes the oldest messages in memory to the transcript, then drops them and trims
+     * further.
+     */
+    private void spill(List<Message> page) {
+        isTranscriptBusy = true;
+        transcriptIo.execute(() -> {
+            boolean isWritten;
+            try {
+                transcript.append(page);
+                isWritten = true;
+            } catch (IOException e) {
+                // Keep the messages in memory rather than lose them
+                e.printStackTrace();
+                isWritten = false;
+            }
+            boolean isDone = isWritten;
+            Platform.runLater(() -> {
+                isTranscriptBusy = false;
+                if (!isDone) {
+                    return;
+                }
+                writtenPages++;
+                // Compared by identity: a link in the page may have been followed meanwhile
+                Set<Message> written = Collections.newSetFromMap(new IdentityHashMap<>());
+                written.addAll(page);
+                messages.removeIf(written::contains);
+                if (firstMessage() == 0) {
+                    messages.add(0, Message.earlier());
+                }
+                trim();
+            });
+        });
+    }
+
+    /**
+     * Loads the newest transcript page that is not in memory back into the conversation,
+     * keeping the message that was at the top of the view in place.
+     */
+    private void loadEarlier() {
+        int index = writtenPages - loadedPages - 1;
+        if (index < 0 || isTranscriptBusy) {
+            return;
+        }
+        isTranscriptBusy = true;
+        transcriptIo.execute(() -> {
+            List<Message> read;
+            try {
+                read = transcript.read(index);
+            } catch (IOException e) {
+                e.printStackTrace();
+                read = null;
+            }
+            List<Message> page = read;
+            Platform.runLater(() -> {
+                isTranscriptBusy = false;
+                if (page != null) {
+                    showEarlier(page, index);
+                }
+                trim();
+            });
+        });
+    }
+
+    /**
+     * Shows transcript page {@code index} above the messages in memory.
+     */
+    private void showEarlier(List<Message> page, int index) {
+        loadedPages++;
+        messages.addAll(1, page);
+        if (index == 0) {
+            // Nothing earlier is left on disk
+            messages.remove(0);
+            dialogList.scrollTo(page.size());
+        } else {
+            dialogList.scrollTo(page.size() + 1);
+        }
+    }
+
+    /**
+     * Closes the transcript once any page being written or read is done. Called when the
+     * application stops.
+     */
+    public void stop() {
+        transcriptIo.execute(() -> {
+            try {
+                transcript.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        transcriptIo.shutdown();
         try {
-            String response = barry.getResponse(input);
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getBarryDialog(response, barryImage)
-            );
-        } catch (BarryException e) {
-            ArrayList<String> s = new ArrayList<>();
-            s.add("OOPS!!! " + e.getMessage());
-            Gui gui = new Gui();
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getErrorDialog(gui.print(s), barryImage)
-            );
+            transcriptIo.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the index of the first message, after the link to earlier messages if any.
+     */
+    private int firstMessage() {
+        return !messages.isEmpty() && messages.get(0).getKind() == Message.Kind.EARLIER ? 1 : 0;
+    }
+
+    /**
+     * Renders the next page of {@code response} and shows it in place of {@code pending},
+     * followed by a link to the page after it, if any. Runs on the command thread.
+     */
+    private void showNextPage(PagedResponse response, Message pending) {
+        String page = response.next();
+        if (response.hasNext()) {
+            Platform.runLater(() -> resolve(pending, Message.reply(page), Message.more(response)));
+        } else {
+            Platform.runLater(() -> resolve(pending, Message.reply(page)));
+        }
+    }
+
+    /**
+     * Shows {@code message} as an error in place of {@code pending}. Runs on the command thread.
+     */
+    private void showError(Message pending, String message) {
+        StringBuilder error = new StringBuilder();
+        new Ui(error, false).showError(message);
+        Platform.runLater(() -> resolve(pending, Message.error(error.toString())));
+    }
+
+    /**
+     * Handles a click on the link of an {@code EARLIER} or {@code MORE} message.
+     */
+    private void followLink(Message link) {
+        if (link.getKind() == Message.Kind.EARLIER) {
+            loadEarlier();
+            return;
+        }
+        PagedResponse rest = link.getRest();
+        int i = messages.lastIndexOf(link);
+        if (rest == null || i < 0) {
+            return;
+        }
+        // Rendered on the command thread, like any response
+        Message pending = Message.pending();
+        messages.set(i, pending);
+        commands.execute(() -> {
+            try {
+                showNextPage(rest, pending);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                showError(pending, "Something went wrong: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Replaces a pending message with its outcome. Pending messages are near the end of the
+     * conversation, so they are searched for from the end.
+     */
+    private void resolve(Message pending, Message... outcome) {
+        int i = messages.lastIndexOf(pending);
+        if (i >= 0) {
+            messages.set(i, outcome[0]);
+            messages.addAll(i + 1, List.of(outcome).subList(1, outcome.length));
         }
     }
 }
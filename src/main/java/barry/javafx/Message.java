@@ -0,0 +1,96 @@
+package barry.javafx;
+
+import barry.commands.PagedResponse;
+
+/**
+ * One entry of the conversation: who sent it, and its text.
+ * <p>
+ * Messages are immutable. A reply that is still being computed is a {@link Kind#PENDING}
+ * message, which is replaced in the conversation once the reply is known. An
+ * {@link Kind#EARLIER} message stands for the messages that have been moved to the
+ * {@link Transcript} and can be loaded back, and a {@link Kind#MORE} message for the rest
+ * of a {@link PagedResponse}, which is rendered when asked for.
+ * </p>
+ */
+final class Message {
+
+    /**
+     * The sender and state of a message, which decide how its bubble is styled.
+     */
+    enum Kind {
+        USER("user-label"),
+        REPLY("reply-label"),
+        ERROR("error-label"),
+        PENDING("pending-label"),
+        EARLIER("earlier-label"),
+        MORE("more-label");
+
+        private final String styleClass;
+
+        Kind(String styleClass) {
+            this.styleClass = styleClass;
+        }
+
+        /**
+         * @return the CSS class of the bubble's label
+         */
+        String getStyleClass() {
+            return styleClass;
+        }
+    }
+
+    private final Kind kind;
+    private final String text;
+    // The rest of the response, for a MORE message that has not been written to the transcript
+    private final PagedResponse rest;
+
+    private Message(Kind kind, String text, PagedResponse rest) {
+        this.kind = kind;
+        this.text = text;
+        this.rest = rest;
+    }
+
+    private Message(Kind kind, String text) {
+        this(kind, text, null);
+    }
+
+    static Message of(Kind kind, String text) {
+        return new Message(kind, text);
+    }
+
+    static Message user(String text) {
+        return new Message(Kind.USER, text);
+    }
+
+    static Message reply(String text) {
+        return new Message(Kind.REPLY, text);
+    }
+
+    static Message error(String text) {
+        return new Message(Kind.ERROR, text);
+    }
+
+    static Message pending() {
+        return new Message(Kind.PENDING, "…");
+    }
+
+    static Message earlier() {
+        return new Message(Kind.EARLIER, "Show earlier messages");
+    }
+
+    static Message more(PagedResponse rest) {
+        return new Message(Kind.MORE, "Load more", rest);
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    PagedResponse getRest() {
+        return rest;
+    }
+}
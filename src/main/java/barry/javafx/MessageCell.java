@@ -0,0 +1,72 @@
+package barry.javafx;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * A cell of the conversation {@link javafx.scene.control.ListView} that shows a
+ * {@link Message} as a chat bubble.
+ * <p>
+ * The {@code ListView} only creates enough cells to fill its viewport and reuses them while
+ * scrolling, so each cell builds one {@link DialogBox} and refills it for every message it
+ * is given. However long the conversation, only the visible bubbles exist as nodes.
+ * {@link Message.Kind#EARLIER} and {@link Message.Kind#MORE} messages are shown as links instead.
+ * </p>
+ */
+class MessageCell extends ListCell<Message> {
+    private final Image userImage;
+    private final Image barryImage;
+    private static final List<String> LINK_STYLES = List.of("earlier-label", "more-label");
+
+    private final Consumer<Message> onLink;
+    private final DialogBox box = new DialogBox();
+    // Created the first time this cell shows a link
+    private Hyperlink link;
+
+    /**
+     * Creates a cell that shows user messages with {@code userImage} and all others with
+     * {@code barryImage}.
+     *
+     * @param userImage     the user's avatar
+     * @param barryImage    Barry's avatar
+     * @param onLink     called with the message when the link of an {@code EARLIER} or
+     *                   {@code MORE} message is clicked
+     */
+    MessageCell(Image userImage, Image barryImage, Consumer<Message> onLink) {
+        this.userImage = userImage;
+        this.barryImage = barryImage;
+        this.onLink = onLink;
+        // Let the cell follow the width of the list instead of its content, so text wraps
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        Message.Kind kind = message.getKind();
+        if (kind == Message.Kind.EARLIER || kind == Message.Kind.MORE) {
+            if (link == null) {
+                link = new Hyperlink();
+                link.setOnAction(e -> onLink.accept(getItem()));
+            }
+            link.setText(message.getText());
+            link.getStyleClass().removeAll(LINK_STYLES);
+            link.getStyleClass().add(kind.getStyleClass());
+            // The rest of a response is gone once the link has been to the transcript and back
+            link.setDisable(kind == Message.Kind.MORE && message.getRest() == null);
+            setGraphic(link);
+            return;
+        }
+        boolean isUser = message.getKind() == Message.Kind.USER;
+        box.show(message.getText(), isUser ? userImage : barryImage, message.getKind().getStyleClass(), isUser);
+        setGraphic(box);
+    }
+}
@@ -0,0 +1,367 @@
+package barry.javafx;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import barry.Barry;
+import barry.data.TaskEvent;
+import barry.data.TaskList;
+import barry.data.common.Formats;
+import barry.tasks.Deadline;
+import barry.tasks.Event;
+import barry.tasks.Task;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+/**
+ * A table of the tasks in the list, shown beside the conversation.
+ * <p>
+ * The table is kept in sync with the {@link barry.data.TaskList} through its change events:
+ * each add, remove or mark is applied to the rows as a single change, so the rows are never
+ * repopulated. Events arrive on the thread that ran the command and are applied in batches
+ * on the JavaFX Application Thread, appends being added together. Like every
+ * {@link TableView}, only the visible rows exist as nodes, so lists of tens of thousands of
+ * tasks scroll smoothly.
+ * </p>
+ * <p>
+ * Sorting by a column header sorts a {@link SortedList} view of the rows. The rows themselves
+ * stay in list order, which the positions carried by the events refer to.
+ * </p>
+ * <p>
+ * The table can be {@linkplain #filter(String) filtered} with the same matching as the
+ * {@code find} command. Queries never run on the JavaFX Application Thread: a query scans a
+ * copy of the rows on a background thread once typing has paused for {@value #DEBOUNCE_MILLIS}
+ * ms, a newer query cancels it, and its matches are shown in pages of {@value #PAGE_SIZE} as
+ * they are found. The previous matches stay on screen until the first page arrives. Once a
+ * query is complete, later changes are applied to its matches one event at a time, like
+ * to the rows, so the filtered view is neither rescanned nor scrolled back after a command;
+ * only changes that arrive while a query is still running start it again.
+ * </p>
+ */
+public class TaskTable extends TableView<Task> {
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern(Formats.UI_DATETIME);
+
+    // Every row has the same height, which spares the table from measuring rows while scrolling
+    private static final double ROW_HEIGHT = 26;
+
+    private static final long DEBOUNCE_MILLIS = 150;
+    private static final int PAGE_SIZE = 500;
+    // Tasks scanned between checks for a newer query
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final Label placeholder = new Label();
+
+    // The tasks in list order
+    private final ObservableList<Task> rows = FXCollections.observableArrayList();
+
+    // Events not yet applied, and whether applying them is already scheduled
+    private final ConcurrentLinkedQueue<TaskEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+    private final SortedList<Task> sortedRows = new SortedList<>(rows);
+
+    // The matches of the current query, in list order
+    private final ObservableList<Task> matches = FXCollections.observableArrayList();
+    private final SortedList<Task> sortedMatches = new SortedList<>(matches);
+
+    /**
+     * Runs queries off the JavaFX Application Thread.
+     */
+    private final ScheduledExecutorService search = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "barry-gui-search");
+        // Must not keep the JVM alive once the window is closed
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Incremented by every query; a query stops as soon as it is no longer the latest one
+    private final AtomicLong generation = new AtomicLong();
+
+    // Only used on the JavaFX Application Thread
+    private ScheduledFuture<?> scheduledQuery;
+    private String query = "";
+    private Predicate<Task> isMatch;
+    // Whether every page of the current query has been delivered
+    private boolean isQueryDone;
+
+    private Barry barry;
+
+    /**
+     * Creates an empty table with type, done, description and dates columns, showing a
+     * progress indicator until {@link #watch(Barry)} is called.
+     */
+    public TaskTable() {
+        getColumns().add(column("Type", 50, TaskTable::type));
+        getColumns().add(column("Done", 50, t -> t.isDone() ? "✓" : ""));
+        getColumns().add(column("Description", 160, Task::getDescription));
+        getColumns().add(column("Dates", 160, TaskTable::dates));
+        setFixedCellSize(ROW_HEIGHT);
+        placeholder.setText("No tasks yet");
+        setPlaceholder(new ProgressIndicator());
+
+        sortedRows.comparatorProperty().bind(comparatorProperty());
+        sortedMatches.comparatorProperty().bind(comparatorProperty());
+        setItems(sortedRows);
+    }
+
+    /**
+     * Shows the tasks of {@code barry} and follows every later change to them.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param barry the backend whose tasks to show
+     */
+    public void watch(Barry barry) {
+        this.barry = barry;
+        List<Task> tasks = barry.subscribe(this::onTaskEvent);
+        rows.setAll(tasks);
+        setPlaceholder(placeholder);
+        if (!query.isBlank()) {
+            // Typed while loading
+            filter(query);
+        }
+    }
+
+    /**
+     * Shows why the tasks could not be loaded, in place of the progress indicator.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param message the reason loading failed
+     */
+    public void showLoadFailure(String message) {
+        placeholder.setText(message);
+        setPlaceholder(placeholder);
+    }
+
+    /**
+     * Shows only the tasks whose description contains {@code text}, ignoring case, or all
+     * tasks if {@code text} is blank. Must be called on the JavaFX Application Thread.
+     *
+     * @param text the text to search for
+     */
+    public void filter(String text) {
+        query = text;
+        generation.incrementAndGet();
+        if (scheduledQuery != null) {
+            scheduledQuery.cancel(false);
+        }
+        if (text.isBlank() || barry == null) {
+            isMatch = null;
+            matches.clear();
+            if (barry != null) {
+                // Otherwise it may be showing why loading failed
+                placeholder.setText("No tasks yet");
+            }
+            setItems(sortedRows);
+            return;
+        }
+        long gen = generation.get();
+        Predicate<Task> matcher = TaskList.matching(text);
+        isMatch = matcher;
+        isQueryDone = false;
+        // The rows as they are now; events applied from here on restart the query until it is done
+        List<Task> tasks = new ArrayList<>(rows);
+        scheduledQuery = search.schedule(() -> find(tasks, matcher, gen), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Scans {@code tasks} and delivers the matches page by page, unless query {@code gen} is
+     * superseded. Runs on the search thread.
+     */
+    private void find(List<Task> tasks, Predicate<Task> isMatch, long gen) {
+        ArrayList<Task> page = new ArrayList<>();
+        boolean isFirst = true;
+        int scanned = 0;
+        for (Task t : tasks) {
+            if (++scanned % CANCEL_CHECK_INTERVAL == 0 && generation.get() != gen) {
+                return;
+            }
+            if (isMatch.test(t)) {
+                page.add(t);
+                if (page.size() == PAGE_SIZE) {
+                    deliver(page, isFirst, false, gen);
+                    page = new ArrayList<>();
+                    isFirst = false;
+                }
+            }
+        }
+        // Also when empty, so that a query without matches replaces the previous matches
+        deliver(page, isFirst, true, gen);
+    }
+
+    /**
+     * Shows a page of matches on the JavaFX Application Thread, unless query {@code gen}
+     * is superseded by then. The first page replaces the previous query's matches.
+     */
+    private void deliver(List<Task> page, boolean isFirst, boolean isLast, long gen) {
+        Platform.runLater(() -> {
+            if (generation.get() != gen) {
+                return;
+            }
+            if (isFirst) {
+                matches.setAll(page);
+                placeholder.setText("No matching tasks");
+                setItems(sortedMatches);
+            } else {
+                matches.addAll(page);
+            }
+            isQueryDone = isLast;
+        });
+    }
+
+    /**
+     * Queues an event and, unless already scheduled, schedules the queue to be applied.
+     * Called on the thread that changed the list.
+     */
+    private void onTaskEvent(TaskEvent event) {
+        pending.add(event);
+        if (isScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::applyPending);
+        }
+    }
+
+    /**
+     * Applies the queued events in order to the rows and, once the current query is done,
+     * to its matches, adding consecutive appends in one change.
+     */
+    private void applyPending() {
+        isScheduled.set(false);
+        boolean isMatchesKept = isMatch != null && isQueryDone;
+        ArrayList<Task> appended = new ArrayList<>();
+        ArrayList<Task> appendedMatches = new ArrayList<>();
+        TaskEvent event;
+        while ((event = pending.poll()) != null) {
+            if (event.getKind() == TaskEvent.Kind.ADDED
+                    && event.getPosition() == rows.size() + appended.size()) {
+                appended.add(event.getTask());
+                if (isMatchesKept && isMatch.test(event.getTask())) {
+                    appendedMatches.add(event.getTask());
+                }
+                continue;
+            }
+            if (!appended.isEmpty()) {
+                rows.addAll(appended);
+                matches.addAll(appendedMatches);
+                appended.clear();
+                appendedMatches.clear();
+            }
+            if (isMatchesKept) {
+                isMatchesKept = applyToMatches(event);
+            }
+            switch (event.getKind()) {
+            case ADDED:
+                rows.add(event.getPosition(), event.getTask());
+                break;
+            case REMOVED:
+                rows.remove(event.getPosition());
+                break;
+            case MARKED:
+                rows.set(event.getPosition(), event.getTask());
+                break;
+            default:
+                throw new AssertionError(event.getKind());
+            }
+        }
+        if (!appended.isEmpty()) {
+            rows.addAll(appended);
+            matches.addAll(appendedMatches);
+        }
+        if (isMatch != null && !isMatchesKept) {
+            // The running query scans rows that are now out of date
+            filter(query);
+        }
+    }
+
+    /**
+     * Applies an event other than an append to the matches of the current query. Must be
+     * called before the event is applied to the rows.
+     *
+     * @return {@code false} if the matches do not hold the task the event replaces or removes,
+     *         so the query must be run again
+     */
+    private boolean applyToMatches(TaskEvent event) {
+        Task before = event.getKind() == TaskEvent.Kind.ADDED ? null
+                : event.getKind() == TaskEvent.Kind.MARKED ? event.getPrevious() : event.getTask();
+        Task after = event.getKind() == TaskEvent.Kind.REMOVED ? null : event.getTask();
+        boolean wasMatch = before != null && isMatch.test(before);
+        boolean isNowMatch = after != null && isMatch.test(after);
+        if (wasMatch) {
+            int i = indexOfMatch(before);
+            if (i < 0) {
+                return false;
+            }
+            if (isNowMatch) {
+                matches.set(i, after);
+            } else {
+                matches.remove(i);
+            }
+        } else if (isNowMatch) {
+            // The matches before it in list order, counted in the rows as they were before the event
+            int index = 0;
+            int end = Math.min(event.getPosition(), rows.size());
+            for (int i = 0; i < end; i++) {
+                if (isMatch.test(rows.get(i))) {
+                    index++;
+                }
+            }
+            matches.add(index, after);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index in the matches of {@code t} itself, or {@code -1}; tasks that are
+     * merely equal to it may be elsewhere in the list.
+     */
+    private int indexOfMatch(Task t) {
+        for (int i = 0; i < matches.size(); i++) {
+            if (matches.get(i) == t) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static TableColumn<Task, String> column(String title, double width, Function<Task, String> value) {
+        TableColumn<Task, String> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        // Tasks are never modified in place, so a row's values are fixed until the row is replaced
+        column.setCellValueFactory(cell -> new ReadOnlyStringWrapper(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static String type(Task t) {
+        if (t instanceof Deadline) {
+            return "D";
+        } else if (t instanceof Event) {
+            return "E";
+        }
+        return "T";
+    }
+
+    private static String dates(Task t) {
+        if (t instanceof Deadline) {
+            return "by " + ((Deadline) t).getDueAt().format(DATE_FMT);
+        } else if (t instanceof Event) {
+            Event e = (Event) t;
+            return e.getStart().format(DATE_FMT) + " – " + e.getEnd().format(DATE_FMT);
+        }
+        return "";
+    }
+}
@@ -0,0 +1,150 @@
+package barry.javafx;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file of the conversation messages that no longer fit in memory.
+ * <p>
+ * Messages are written in pages of {@value #PAGE_SIZE}, one message per line in the form
+ * {@code KIND|text}, where line breaks and backslashes in the text are escaped. Only the
+ * offset of each page is kept in memory, so any page can be read back with a single seek,
+ * however long the session.
+ * </p>
+ * <p>
+ * The file holds the current session only: it is emptied when the first page is written,
+ * and should be {@linkplain #close() closed} when the session ends. This class is not
+ * thread-safe.
+ * </p>
+ */
+final class Transcript {
+    static final int PAGE_SIZE = 100;
+
+    private final Path path;
+
+    private RandomAccessFile file;
+
+    // Where each page written in this session starts, and where the last one ends
+    private final ArrayList<Long> pageOffsets = new ArrayList<>();
+    private long end;
+
+    /**
+     * Creates a transcript that writes to the given file.
+     *
+     * @param path the transcript file; created with its parent directories if missing
+     */
+    Transcript(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * @return the number of pages written
+     */
+    int getPageCount() {
+        return pageOffsets.size();
+    }
+
+    /**
+     * Appends a page of messages.
+     *
+     * @param page the messages, oldest first
+     * @throws IOException if the file cannot be written; the page is then not recorded
+     */
+    void append(List<Message> page) throws IOException {
+        if (file == null) {
+            Files.createDirectories(path.getParent());
+            RandomAccessFile opened = new RandomAccessFile(path.toFile(), "rw");
+            try {
+                // Left over from the previous session
+                opened.setLength(0);
+            } catch (IOException e) {
+                opened.close();
+                throw e;
+            }
+            file = opened;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Message m : page) {
+            sb.append(m.getKind().name()).append('|');
+            escape(m.getText(), sb);
+            sb.append('\n');
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        file.seek(end);
+        file.write(bytes);
+        pageOffsets.add(end);
+        end += bytes.length;
+    }
+
+    /**
+     * Reads back a page.
+     *
+     * @param index the page, counted from 0 in the order they were written
+     * @return the messages of the page, oldest first
+     * @throws IOException if the file cannot be read
+     */
+    List<Message> read(int index) throws IOException {
+        long from = pageOffsets.get(index);
+        long to = index + 1 < pageOffsets.size() ? pageOffsets.get(index + 1) : end;
+        byte[] bytes = new byte[(int) (to - from)];
+        file.seek(from);
+        file.readFully(bytes);
+
+        ArrayList<Message> page = new ArrayList<>();
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+            int bar = line.indexOf('|');
+            Message.Kind kind = Message.Kind.valueOf(line.substring(0, bar));
+            page.add(Message.of(kind, unescape(line.substring(bar + 1))));
+        }
+        return page;
+    }
+
+    /**
+     * Closes the file, if it was opened. No page can be written or read afterwards.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    private static void escape(String text, StringBuilder sb) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = s.charAt(++i);
+            sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+        }
+        return sb.toString();
+    }
+}
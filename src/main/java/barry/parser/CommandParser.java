@@ -1,19 +1,26 @@
 package barry.parser;
 
-import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.util.List;
 
 import barry.alias.AliasExpander;
 import barry.alias.AliasStorage;
+import barry.commands.AddAlias;
 import barry.commands.AddTask;
 import barry.commands.AliasHelp;
 import barry.commands.Command;
+import barry.commands.DeleteAlias;
 import barry.commands.DeleteTask;
 import barry.commands.Exit;
 import barry.commands.FindTask;
 import barry.commands.HelpCommand;
 import barry.commands.ListTasks;
 import barry.commands.MarkTask;
+import barry.commands.RunScript;
+import barry.data.SortKey;
 import barry.data.common.CommandRegex;
+import barry.data.common.CommandType;
+import barry.data.common.CommandTokens;
 import barry.data.exceptions.BarryException;
 import barry.tasks.Task;
 
@@ -21,27 +28,26 @@ import barry.tasks.Task;
  * Parses raw user input into executable {@link Command} objects.
  * <p>
  * {@code CommandParser} acts as a thin coordinator:
- * it first identifies the command shape via {@link CommandRegex#parseCommand(String)},
- * then extracts any parameters and constructs the appropriate concrete command
+ * it resolves the command and splits its parameters in one pass via
+ * {@link CommandRegex#tokenize(String)}, then constructs the appropriate concrete command
  * (e.g., {@link AddTask}, {@link MarkTask}, {@link DeleteTask}, etc.).
- * This class is stateless and thread-unsafe by default.
+ * Aliases come from the shared {@link AliasStorage}, which is read without locking,
+ * so a single instance may be shared by several threads.
  * </p>
  */
 public class CommandParser {
-    private final AliasStorage aliasStorage = new AliasStorage();
-    private final AliasExpander aliasExpander = new AliasExpander(aliasStorage);
+    private static final String ARCHIVED_FLAG = "--archived";
+    private static final String SORT_FLAG = "--sort ";
 
-    public CommandParser() {
-        aliasStorage.load();
-    }
+    private final AliasExpander aliasExpander = new AliasExpander(AliasStorage.getInstance());
 
     /**
      * Parses a full command line and returns the corresponding {@link Command}.
      * <p>
      * The method:
      * <ol>
-     *   <li>Resolves the command pattern with {@link CommandRegex#parseCommand(String)}.</li>
-     *   <li>Extracts parameters using {@link CommandRegex#extractComponents(String)}.</li>
+     *   <li>Resolves the command and extracts its parameters with
+     *       {@link CommandRegex#tokenize(String)}.</li>
      *   <li>Dispatches to helper methods that instantiate the concrete command.</li>
      * </ol>
      * Examples:
@@ -49,6 +55,7 @@ public class CommandParser {
      *   <li>{@code "todo Read book"} → {@link AddTask}</li>
      *   <li>{@code "mark 2"} → {@link MarkTask}</li>
      *   <li>{@code "find book"} → {@link FindTask}</li>
+     *   <li>{@code "list --archived"}, {@code "list --sort due"} → {@link ListTasks}</li>
      *   <li>{@code "help --details"} → {@link HelpCommand}</li>
      * </ul>
      * </p>
@@ -60,11 +67,11 @@ public class CommandParser {
      */
     public Command parseCommand(String fullCommand) throws BarryException {
         String expanded = aliasExpander.expand(fullCommand);
-        CommandRegex c = CommandRegex.parseCommand(expanded); // Can throw BarryException
-        ArrayList<String> params = c.extractComponents(expanded);
-        switch (c) {
+        checkTag(expanded);
+        CommandTokens params = CommandRegex.tokenize(expanded); // Can throw BarryException
+        switch (params.getType()) {
         case TODO, DEADLINE, EVENT:
-            return addTask(expanded);
+            return addTask(params);
         case MARK, UNMARK:
             assert params.size() >= 2 : "mark/unmark requires an index";
             return markTask(params.get(0), params.get(1));
@@ -72,31 +79,56 @@ public class CommandParser {
             assert params.size() == 2 : "delete requires exactly one index";
             return deleteTask(params.get(1));
         case LIST:
-            return listTask();
+            if (params.get(1).startsWith(SORT_FLAG)) {
+                return listTask(SortKey.fromKeyword(params.get(1).substring(SORT_FLAG.length())));
+            }
+            return listTask(params.get(1).equals(ARCHIVED_FLAG));
         case FIND:
-            assert params.size() == 2 : "find requires a pattern";
-            return findTask(params.get(1));
+            assert params.size() == 3 : "find requires a pattern";
+            return findTask(params.get(2), params.get(1).equals(ARCHIVED_FLAG));
         case BYE:
             return new Exit();
+        case SOURCE:
+            return runScript(params.get(1));
         case HELP:
             return help(expanded);
         case ALIAS:
-            return showAlias();
+            return alias(params.get(1), params.get(2), params.get(3));
         default:
             throw BarryException.commandException();
         }
     }
 
+    /**
+     * Rejects input whose first word is not a command, suggesting similar command and
+     * alias names if there are any.
+     *
+     * @param command the input after alias expansion
+     * @throws BarryException if the first word is not the tag of a built-in command
+     */
+    private void checkTag(String command) throws BarryException {
+        int space = command.indexOf(' ');
+        String word = space < 0 ? command : command.substring(0, space);
+        if (word.isEmpty() || CommandRegex.isTag(word)) {
+            return;
+        }
+        List<String> suggestions = AliasStorage.getInstance().suggest(word);
+        if (suggestions.isEmpty()) {
+            throw BarryException.commandException();
+        }
+        throw BarryException.unknownCommand(word, suggestions);
+    }
+
     /**
      * Builds an {@link AddTask} by delegating to {@link TaskParser} to parse
-     * the task payload from the raw input.
+     * the task payload from the tokenized input.
      *
-     * @param command the full add-type command (e.g., {@code "todo ..."}, {@code "deadline ..."})
+     * @param tokens the tokenized add-type command (e.g., {@code "todo ..."}, {@code "deadline ..."})
      * @return a new {@link AddTask} wrapping the parsed {@link Task}
      * @throws BarryException if the task payload is invalid or missing fields
      */
-    public Command addTask(String command) throws BarryException {
-        Task temp = TaskParser.parseTask(command);
+    public Command addTask(CommandTokens tokens) throws BarryException {
+        Task temp = TaskParser.parseTask(tokens);
         return new AddTask(temp);
     }
 
@@ -126,10 +158,22 @@ public class CommandParser {
     /**
      * Creates a {@link ListTasks} that lists all tasks.
      *
+     * @param isArchived {@code true} to list the archive instead of the working list
+     * @return a new {@link ListTasks}
+     */
+    public Command listTask(boolean isArchived) {
+        return new ListTasks(isArchived);
+    }
+
+    /**
+     * Creates a {@link ListTasks} that lists all tasks in the given order.
+     *
+     * @param sortKey the order to list in, as validated by {@link CommandRegex}
      * @return a new {@link ListTasks}
      */
-    public Command listTask() {
-        return new ListTasks();
+    public Command listTask(SortKey sortKey) {
+        assert sortKey != null : "sort keyword should have been validated by CommandRegex";
+        return new ListTasks(sortKey);
     }
 
     /**
@@ -171,14 +215,52 @@ public class CommandParser {
      * Builds a {@link FindTask} that searches for tasks whose descriptions
      * contain the given pattern (case-insensitive).
      *
-     * @param pattern the substring to search for
+     * @param pattern    the substring to search for
+     * @param isArchived {@code true} to search the archive instead of the working list
      * @return a new {@link FindTask} configured with the pattern
      */
-    public Command findTask(String pattern) {
-        return new FindTask(pattern);
+    public Command findTask(String pattern, boolean isArchived) {
+        return new FindTask(pattern, isArchived);
+    }
+
+    /**
+     * Builds a {@link RunScript} for the given file.
+     *
+     * @param path the path of the script file
+     * @return a new {@link RunScript}
+     * @throws BarryException if no path was given
+     */
+    public Command runScript(String path) throws BarryException {
+        if (path.isEmpty()) {
+            throw BarryException.commandException(new CommandType[]{CommandType.SOURCE});
+        }
+        return new RunScript(Paths.get(path));
     }
 
     public Command showAlias() {
         return new AliasHelp();
     }
+
+    /**
+     * Builds the command for one of the {@code alias} forms.
+     *
+     * @param action   {@code "add"}, {@code "rm"}, or {@code ""} to show all aliases
+     * @param name     the alias name, for {@code add} and {@code rm}
+     * @param template the template, for {@code add}
+     * @return an {@link AddAlias}, {@link DeleteAlias} or {@link AliasHelp}
+     * @throws BarryException if {@code add} would shadow a built-in command
+     */
+    public Command alias(String action, String name, String template) throws BarryException {
+        switch (action) {
+        case "add":
+            if (CommandRegex.isTag(name.toLowerCase())) {
+                throw BarryException.reservedAliasName(name);
+            }
+            return new AddAlias(name, template);
+        case "rm":
+            return new DeleteAlias(name);
+        default:
+            return showAlias();
+        }
+    }
 }
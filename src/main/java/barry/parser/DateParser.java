@@ -0,0 +1,243 @@
+package barry.parser;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import barry.data.common.Formats;
+
+/**
+ * Parses the timestamps of {@code deadline} and {@code event} commands.
+ * <p>
+ * Besides the strict {@link Formats#CMD_DATETIME} format, a small grammar of relative and
+ * natural phrases is accepted (case-insensitive):
+ * </p>
+ * <ul>
+ *   <li><b>{@code <day> [<time>]}</b> – where {@code <day>} is {@code today}, {@code tomorrow}
+ *       (or {@code tmr}), a weekday such as {@code fri} or {@code friday} (the next one, today
+ *       included), {@code next <weekday>} (the next one after today), or a date
+ *       {@code dd/MM/yyyy}. Without a time, the day ends at {@code 23:59}.</li>
+ *   <li><b>{@code <time>}</b> – {@code 17:00}, {@code 9am}, {@code 9:30pm} or {@code noon}:
+ *       today if that time is still ahead, otherwise tomorrow.</li>
+ *   <li><b>{@code in <n><unit>}</b> – e.g. {@code in 3h}, {@code in 2 days}, counted from now;
+ *       units are minutes ({@code m}, {@code min}), hours ({@code h}, {@code hr}),
+ *       days ({@code d}) and weeks ({@code w}, {@code wk}), in singular or plural.</li>
+ * </ul>
+ * <p>
+ * A phrase is compiled into a function of the current time, and the compiled form of the
+ * most recently used phrases is kept in an LRU cache, so a bulk import that repeats the
+ * same phrases runs the grammar once per distinct phrase. Relative phrases are still
+ * evaluated against the injected {@link Clock} on every use. This class is safe for use by
+ * multiple threads.
+ * </p>
+ */
+public final class DateParser {
+    private static final int CACHE_SIZE = 256;
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    // 17:00, 9am, 9:30pm
+    private static final Pattern TIME = Pattern.compile("(\\d{1,2})(?::(\\d{2}))?(am|pm)?");
+    // 3h, 2days
+    private static final Pattern AMOUNT = Pattern.compile("(\\d{1,6})([a-z]*)");
+
+    private static final HashMap<String, DayOfWeek> WEEKDAYS = new HashMap<>();
+    private static final HashMap<String, ChronoUnit> UNITS = new HashMap<>();
+
+    // Marks a phrase that is not understood, so that it is cached as well
+    private static final UnaryOperator<LocalDateTime> INVALID = now -> null;
+
+    static {
+        for (DayOfWeek d : DayOfWeek.values()) {
+            String name = d.name().toLowerCase();
+            WEEKDAYS.put(name, d);
+            WEEKDAYS.put(name.substring(0, 3), d);
+        }
+        for (String u : new String[]{"m", "min", "mins", "minute", "minutes"}) {
+            UNITS.put(u, ChronoUnit.MINUTES);
+        }
+        for (String u : new String[]{"h", "hr", "hrs", "hour", "hours"}) {
+            UNITS.put(u, ChronoUnit.HOURS);
+        }
+        for (String u : new String[]{"d", "day", "days"}) {
+            UNITS.put(u, ChronoUnit.DAYS);
+        }
+        for (String u : new String[]{"w", "wk", "wks", "week", "weeks"}) {
+            UNITS.put(u, ChronoUnit.WEEKS);
+        }
+    }
+
+    private final Clock clock;
+
+    // Access-ordered, so iteration starts at the least recently used phrase
+    private final LinkedHashMap<String, UnaryOperator<LocalDateTime>> cache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UnaryOperator<LocalDateTime>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    /**
+     * Creates a parser that uses the system clock.
+     */
+    public DateParser() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a parser that uses the given clock.
+     *
+     * @param clock the clock that defines "now"
+     */
+    public DateParser(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Parses a timestamp phrase.
+     *
+     * @param text the phrase, e.g. {@code "30/08/2025 16:00"} or {@code "fri 9am"}
+     * @return the time it stands for, to the minute, or {@code null} if it is not understood
+     */
+    public LocalDateTime parse(String text) {
+        String key = text.trim().toLowerCase();
+        UnaryOperator<LocalDateTime> phrase;
+        synchronized (cache) {
+            phrase = cache.get(key);
+        }
+        if (phrase == null) {
+            phrase = compile(key);
+            synchronized (cache) {
+                cache.put(key, phrase);
+            }
+        }
+        return phrase.apply(LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    /**
+     * Compiles a lower-cased phrase into a function from the current time to its value.
+     */
+    private static UnaryOperator<LocalDateTime> compile(String phrase) {
+        String[] w = phrase.split("\\s+");
+        if (w[0].equals("in")) {
+            return compileAmount(w);
+        }
+
+        UnaryOperator<LocalDate> day = null;
+        int next = 1;
+        if (w[0].equals("next") && w.length > 1 && WEEKDAYS.containsKey(w[1])) {
+            DayOfWeek d = WEEKDAYS.get(w[1]);
+            day = today -> today.with(TemporalAdjusters.next(d));
+            next = 2;
+        } else {
+            day = compileDay(w[0]);
+        }
+
+        if (day == null) {
+            // A time on its own: the next time it comes round
+            LocalTime time = w.length == 1 ? compileTime(w[0]) : null;
+            if (time == null) {
+                return INVALID;
+            }
+            return now -> {
+                LocalDateTime t = now.toLocalDate().atTime(time);
+                return t.isBefore(now) ? t.plusDays(1) : t;
+            };
+        }
+        if (w.length > next + 1) {
+            return INVALID;
+        }
+        LocalTime time = w.length == next ? END_OF_DAY : compileTime(w[next]);
+        if (time == null) {
+            return INVALID;
+        }
+        UnaryOperator<LocalDate> d = day;
+        return now -> d.apply(now.toLocalDate()).atTime(time);
+    }
+
+    /**
+     * Compiles the words of {@code in <n><unit>} or {@code in <n> <unit>}.
+     */
+    private static UnaryOperator<LocalDateTime> compileAmount(String[] w) {
+        if (w.length < 2 || w.length > 3) {
+            return INVALID;
+        }
+        Matcher m = AMOUNT.matcher(w[1]);
+        if (!m.matches() || (w.length == 3) != m.group(2).isEmpty()) {
+            return INVALID;
+        }
+        ChronoUnit unit = UNITS.get(w.length == 3 ? w[2] : m.group(2));
+        if (unit == null) {
+            return INVALID;
+        }
+        long n = Long.parseLong(m.group(1));
+        return now -> now.plus(n, unit);
+    }
+
+    /**
+     * Compiles a day word, or returns {@code null} if the word is not a day.
+     */
+    private static UnaryOperator<LocalDate> compileDay(String word) {
+        switch (word) {
+        case "today":
+            return today -> today;
+        case "tomorrow", "tmr":
+            return today -> today.plusDays(1);
+        default:
+            break;
+        }
+        DayOfWeek d = WEEKDAYS.get(word);
+        if (d != null) {
+            return today -> today.with(TemporalAdjusters.nextOrSame(d));
+        }
+        if (word.indexOf('/') < 0) {
+            return null;
+        }
+        try {
+            LocalDate date = LocalDate.parse(word, DATE_FMT);
+            return today -> date;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles a time word, or returns {@code null} if the word is not a valid time.
+     */
+    private static LocalTime compileTime(String word) {
+        if (word.equals("noon")) {
+            return LocalTime.NOON;
+        }
+        Matcher m = TIME.matcher(word);
+        // A bare number is not a time
+        if (!m.matches() || (m.group(2) == null && m.group(3) == null)) {
+            return null;
+        }
+        int hour = Integer.parseInt(m.group(1));
+        int minute = m.group(2) == null ? 0 : Integer.parseInt(m.group(2));
+        if (m.group(3) != null) {
+            if (hour < 1 || hour > 12) {
+                return null;
+            }
+            hour = hour % 12 + (m.group(3).equals("pm") ? 12 : 0);
+        }
+        if (hour > 23 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+}
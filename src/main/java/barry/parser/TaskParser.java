@@ -5,12 +5,11 @@ import static barry.data.common.CommandType.EVENT;
 import static barry.data.common.CommandType.TODO;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.List;
 
+import barry.data.common.CommandRegex;
+import barry.data.common.CommandTokens;
 import barry.data.common.Formats;
-import barry.data.common.TaskRegex;
 import barry.data.exceptions.BarryException;
 import barry.tasks.Deadline;
 import barry.tasks.Event;
@@ -20,11 +19,12 @@ import barry.tasks.Todo;
 /**
  * Parses raw task-creation commands into concrete {@link Task} instances.
  * <p>
- * The {@code TaskParser} delegates syntax recognition to {@link TaskRegex},
- * validates required fields, enforces date formats, and constructs the
+ * The {@code TaskParser} works on components already split by
+ * {@link CommandRegex#tokenize(String)}, validates required fields, enforces date formats, and constructs the
  * appropriate {@link Todo}, {@link Deadline}, or {@link Event}.
- * Command timestamps must use the {@code dd/MM/yyyy HH:mm} pattern
- * (see {@link Formats#CMD_DATETIME}).
+ * Command timestamps use the {@code dd/MM/yyyy HH:mm} pattern
+ * (see {@link Formats#CMD_DATETIME}) or one of the relative phrases understood by
+ * {@link DateParser}, such as {@code tomorrow 17:00} or {@code in 3h}.
  * </p>
  *
  * <h3>Supported forms</h3>
@@ -36,41 +36,55 @@ import barry.tasks.Todo;
  *
  * <p>
  * If required components are missing or timestamps are malformed, a
- * {@link BarryException} with a user-friendly message is thrown.
+ * {@link BarryException} with a user-friendly message is thrown. Components may not
+ * contain {@code '|'}, which separates fields in the data file.
  * </p>
  */
 public class TaskParser {
 
     /**
-     * Formatter for command timestamps (e.g., {@code 30/08/2025 16:00}).
+     * Parser for command timestamps (e.g., {@code 30/08/2025 16:00} or {@code fri 9am}).
      */
-    private static final DateTimeFormatter CMD_FMT = DateTimeFormatter.ofPattern(Formats.CMD_DATETIME);
+    private static final DateParser DATES = new DateParser();
 
     /**
      * Parses a full task command line and produces a concrete {@link Task}.
-     * <p>
-     * Steps:
-     * <ol>
-     *   <li>Identify the task pattern via {@link TaskRegex#parseTask(String)}.</li>
-     *   <li>Extract components (description and timestamps) using
-     *       {@link TaskRegex#extractComponents(String)}.</li>
-     *   <li>Dispatch to a type-specific parser that validates inputs and builds the task.</li>
-     * </ol>
-     * </p>
      *
      * @param command the raw task command (e.g., {@code "deadline iP /by 30/08/2025 16:00"})
      * @return a {@link Todo}, {@link Deadline}, or {@link Event} created from the input
      * @throws BarryException if the command does not match a supported pattern,
      *                        a required field is missing, or a timestamp is invalid
+     * @see #parseTask(CommandTokens)
      */
     public static Task parseTask(String command) throws BarryException {
-        TaskRegex t = TaskRegex.parseTask(command); // may throw BarryException
-        ArrayList<String> p = t.extractComponents(command);
+        return parseTask(CommandRegex.tokenize(command));
+    }
+
+    /**
+     * Produces a concrete {@link Task} from a tokenized task command.
+     * <p>
+     * Dispatches on the command type to a type-specific parser that validates the
+     * components (description and timestamps) and builds the task.
+     * </p>
+     *
+     * @param tokens the output of {@link CommandRegex#tokenize(String)} for a task command
+     * @return a {@link Todo}, {@link Deadline}, or {@link Event} created from the input
+     * @throws BarryException if the command is not a task command, a component contains
+     *                        {@code '|'}, a required field is missing, or a timestamp is invalid
+     */
+    public static Task parseTask(CommandTokens tokens) throws BarryException {
+        List<String> p = tokens.getComponents().subList(1, tokens.size());
+        for (String component : p) {
+            if (component.indexOf('|') >= 0) {
+                throw BarryException.commandException();
+            }
+        }
 
-        return switch (t) {
+        return switch (tokens.getType()) {
         case TODO -> parseTodo(p);
         case DEADLINE -> parseDeadline(p);
         case EVENT -> parseEvent(p);
+        default -> throw BarryException.commandException();
         };
     }
 
@@ -81,7 +95,7 @@ public class TaskParser {
      * @return a new {@link Todo}
      * @throws BarryException if the description is empty
      */
-    private static Task parseTodo(ArrayList<String> p) throws BarryException {
+    private static Task parseTodo(List<String> p) throws BarryException {
         String desc = p.get(0).trim();
         if (desc.isEmpty()) {
             throw BarryException.missingTaskDescription(TODO);
@@ -96,7 +110,7 @@ public class TaskParser {
      * @return a new {@link Deadline}
      * @throws BarryException if the description is empty, due date is missing, or the date is invalid
      */
-    private static Task parseDeadline(ArrayList<String> p) throws BarryException {
+    private static Task parseDeadline(List<String> p) throws BarryException {
         String desc = p.get(0).trim();
         String by = p.get(1).trim();
 
@@ -107,7 +121,7 @@ public class TaskParser {
             throw BarryException.missingTimestamp(DEADLINE, "due date");
         }
 
-        LocalDateTime due = parseDateStrict(by, DEADLINE, "due date");
+        LocalDateTime due = parseDate(by, DEADLINE, "due date");
         return new Deadline(desc, due);
     }
 
@@ -119,7 +133,7 @@ public class TaskParser {
      * @return a new {@link Event}
      * @throws BarryException if the description is empty, a timestamp is missing, or a date is invalid
      */
-    private static Task parseEvent(ArrayList<String> p) throws BarryException {
+    private static Task parseEvent(List<String> p) throws BarryException {
         String desc = p.get(0).trim();
         String from = p.get(1).trim();
         String to = p.get(2).trim();
@@ -134,28 +148,29 @@ public class TaskParser {
             throw BarryException.missingTimestamp(EVENT, "ending time");
         }
 
-        LocalDateTime start = parseDateStrict(from, EVENT, "start time");
-        LocalDateTime end = parseDateStrict(to, EVENT, "end time");
+        LocalDateTime start = parseDate(from, EVENT, "start time");
+        LocalDateTime end = parseDate(to, EVENT, "end time");
         return new Event(desc, start, end);
     }
 
     /**
-     * Parses a timestamp using the strict command format and maps parse failures
+     * Parses a timestamp with {@link DateParser} and maps parse failures
      * to a {@link BarryException} with a helpful message.
      *
-     * @param raw   the raw timestamp text (e.g., {@code 30/08/2025 16:00})
+     * @param raw   the raw timestamp text (e.g., {@code 30/08/2025 16:00} or {@code tomorrow 5pm})
      * @param type  the command type used for error messaging context
      * @param label a label describing the timestamp’s role (e.g., {@code "due date"})
      * @return the parsed {@link LocalDateTime}
-     * @throws BarryException if the timestamp is not in {@link Formats#CMD_DATETIME} format
+     * @throws BarryException if the timestamp is neither in {@link Formats#CMD_DATETIME} format
+     *                        nor a phrase understood by {@link DateParser}
      */
-    private static LocalDateTime parseDateStrict(String raw, barry.data.common.CommandType type, String label)
+    private static LocalDateTime parseDate(String raw, barry.data.common.CommandType type, String label)
             throws BarryException {
-        try {
-            return LocalDateTime.parse(raw, CMD_FMT);
-        } catch (DateTimeParseException e) {
+        LocalDateTime t = DATES.parse(raw);
+        if (t == null) {
             throw BarryException.invalidTimestamp(type, label, Formats.CMD_DATETIME);
         }
+        return t;
     }
 
 }
@@ -0,0 +1,127 @@
+package barry.storage;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.tasks.Task;
+
+/**
+ * Cold storage for completed tasks that have been moved out of the working list.
+ * <p>
+ * Archived tasks use the same line format as the main data file (see {@link Encode}
+ * and {@link Decode}) but are deflate-compressed. Every call to {@link #append(List)}
+ * writes one self-contained gzip member at the end of the file, so archiving never
+ * rewrites older entries; {@link GZIPInputStream} reads the concatenated members back
+ * as a single stream.
+ * </p>
+ * <p>
+ * A task whose record (including its completion time) is already in the archive is not
+ * appended again, so archiving the same tasks twice, e.g. after a run that was interrupted
+ * before the working file was rewritten, leaves no duplicates.
+ * </p>
+ * <p>
+ * The archive is only read on demand (e.g., {@code list --archived}) and when tasks are
+ * archived at startup, so it never slows down the commands that operate on the working list.
+ * </p>
+ */
+public class Archive {
+    private final Path filePath;
+
+    /**
+     * Creates an {@code Archive} backed by the given compressed file.
+     *
+     * @param filePath the path of the archive file
+     */
+    public Archive(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Appends the given tasks to the archive as a new compressed member, skipping those that
+     * are already archived.
+     *
+     * @param tasks the tasks to archive
+     * @throws IOException if the archive file cannot be read or written
+     */
+    public void append(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Set<String> archived = readLines();
+        StringBuilder member = new StringBuilder();
+        for (Task t : tasks) {
+            String line = Encode.encode(t);
+            if (!archived.contains(line.strip())) {
+                member.append(line);
+            }
+        }
+        if (member.length() == 0) {
+            return;
+        }
+        Path parent = filePath.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer w = new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(filePath.toFile(), /* append = */ true)), UTF_8)) {
+            w.append(member);
+        }
+    }
+
+    /**
+     * Reads the record lines of the archive, without line separators.
+     */
+    private Set<String> readLines() throws IOException {
+        Set<String> lines = new HashSet<>();
+        if (Files.notExists(filePath)) {
+            return lines;
+        }
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(filePath.toFile())), UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                lines.add(line.strip());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Reads every archived task into a new {@link TaskList}, oldest first.
+     *
+     * @return the archived tasks, or an empty list if nothing has been archived yet
+     * @throws BarryException if the archive cannot be read or contains a malformed record
+     */
+    public TaskList load() throws BarryException {
+        TaskList list = new TaskList();
+        if (Files.notExists(filePath)) {
+            return list;
+        }
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(filePath.toFile())), UTF_8))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                list.addTask(Decode.decode(line));
+            }
+        } catch (IOException e) {
+            throw BarryException.archiveUnavailable();
+        }
+        return list;
+    }
+}
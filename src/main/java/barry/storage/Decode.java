@@ -23,6 +23,9 @@ import barry.tasks.Todo;
  * </ul>
  * <p>
  * A value of {@code "1"} marks the task as done; {@code "0"} marks it as not done.
+ * Completed tasks may carry one extra trailing field holding the time they were marked
+ * as done; records written before that field existed are treated as completed now (see
+ * {@link #lacksDoneAt(String)}).
  * Timestamps are parsed with the pattern {@code dd/MM/yyyy HH:mm}.
  * </p>
  *
@@ -31,6 +34,7 @@ import barry.tasks.Todo;
  * T | 1 | Read book
  * D | 0 | iP | 30/08/2025 16:00
  * E | 1 | Splashdown | 27/08/2025 18:00 | 27/08/2025 21:00
+ * T | 1 | Read book | 01/09/2025 09:30
  * }</pre>
  */
 public class Decode {
@@ -79,42 +83,64 @@ public class Decode {
     }
 
     /**
-     * Decodes a {@code Todo} record of the form {@code T | <0|1> | <description>}.
+     * Returns whether {@code content} is a completed record without a completion time, which
+     * {@link #decode(String)} stamps with the current time.
+     *
+     * @param content a persisted record line
+     * @return {@code true} if the record is marked as done but has no completion-time field
+     */
+    public static boolean lacksDoneAt(String content) {
+        String[] cmd = content.split(SEP);
+        if (cmd.length < 2 || !cmd[1].equals("1")) {
+            return false;
+        }
+        switch (content.charAt(0)) {
+        case TODO:
+            return cmd.length <= 3;
+        case DEADLINE:
+            return cmd.length <= 4;
+        case EVENT:
+            return cmd.length <= 5;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Decodes a {@code Todo} record of the form {@code T | <0|1> | <description> [| <doneAt>]}.
      *
      * @param content the persisted record line
      * @return a populated {@link Todo} with isDone applied
      */
     private static Task decodeTodo(String content) {
-        String[] cmd = content.split(SEP, 3);
-        String marked = cmd[1];
+        String[] cmd = content.split(SEP);
         String name = cmd[2];
         Task t = new Todo(name);
-        t.setIsDone(marked.equals("1"));
+        applyStatus(t, cmd, 3);
         return t;
     }
 
     /**
      * Decodes a {@code Deadline} record of the form
-     * {@code D | <0|1> | <description> | <dd/MM/yyyy HH:mm>}.
+     * {@code D | <0|1> | <description> | <dd/MM/yyyy HH:mm> [| <doneAt>]}.
      *
      * @param content the persisted record line
      * @return a populated {@link Deadline} with isDone applied
      * @throws java.time.format.DateTimeParseException if the timestamp is not in the expected format
      */
     private static Task decodeDeadline(String content) {
-        String[] cmd = content.split(SEP, 4);
-        String marked = cmd[1];
+        String[] cmd = content.split(SEP);
         String name = cmd[2];
         String by = cmd[3];
         LocalDateTime due = LocalDateTime.parse(by, STORED_FMT);
         Task t = new Deadline(name, due);
-        t.setIsDone(marked.equals("1"));
+        applyStatus(t, cmd, 4);
         return t;
     }
 
     /**
      * Decodes an {@code Event} record of the form
-     * {@code E | <0|1> | <description> | <start> | <end>} where timestamps use
+     * {@code E | <0|1> | <description> | <start> | <end> [| <doneAt>]} where timestamps use
      * {@link Formats#CMD_DATETIME}.
      *
      * @param content the persisted record line
@@ -122,13 +148,27 @@ public class Decode {
      * @throws java.time.format.DateTimeParseException if either timestamp is not in the expected format
      */
     private static Task decodeEvent(String content) {
-        String[] cmd = content.split(SEP, 5);
-        String marked = cmd[1];
+        String[] cmd = content.split(SEP);
         String name = cmd[2];
         LocalDateTime start = LocalDateTime.parse(cmd[3], STORED_FMT);
         LocalDateTime end = LocalDateTime.parse(cmd[4], STORED_FMT);
         Task t = new Event(name, start, end);
-        t.setIsDone(marked.equals("1"));
+        applyStatus(t, cmd, 5);
         return t;
     }
+
+    /**
+     * Applies the completion flag and, if present, the completion time of a record.
+     *
+     * @param t         the freshly decoded task
+     * @param cmd       the split record fields
+     * @param doneAtPos the index of the optional completion-time field
+     * @throws java.time.format.DateTimeParseException if the completion time is malformed
+     */
+    private static void applyStatus(Task t, String[] cmd, int doneAtPos) {
+        t.setIsDone(cmd[1].equals("1"));
+        if (cmd.length > doneAtPos) {
+            t.setDoneAt(LocalDateTime.parse(cmd[doneAtPos], STORED_FMT));
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import barry.data.common.Formats;
+import barry.tasks.Task;
 
 /**
  * Encodes a task’s <em>display string</em> (as produced by {@code Task.toString()})
@@ -81,6 +82,26 @@ public class Encode {
         }
     }
 
+    /**
+     * Converts a task into its persisted line format, including its completion time.
+     * <p>
+     * The line is produced by {@link #encode(String)} from the task's display string; if the
+     * task is done, its completion time is appended as one extra trailing field so that
+     * archiving ages survive restarts (see {@link Decode}).
+     * </p>
+     *
+     * @param task the task to encode
+     * @return a pipe-delimited storage line, ending with {@link System#lineSeparator()}
+     */
+    public static String encode(Task task) {
+        String line = encode(task.toString());
+        if (task.getDoneAt() == null) {
+            return line;
+        }
+        int end = line.length() - System.lineSeparator().length();
+        return line.substring(0, end) + SEP + task.getDoneAt().format(STORED_FMT) + System.lineSeparator();
+    }
+
     /**
      * Encodes a {@code Todo} display string of the form {@code [T][X] <description>}.
      *
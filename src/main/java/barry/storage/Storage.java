@@ -4,7 +4,12 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Scanner;
 import java.util.stream.Collectors;
 
@@ -20,17 +25,34 @@ import barry.tasks.Task;
  * <ul>
  *   <li><b>load</b> tasks by reading each line, decoding it into a {@link Task}
  *       via {@link Decode#decode(String)}, and collecting them into a {@link TaskList}; and</li>
- *   <li><b>save</b> tasks by converting each task’s string representation through
- *       {@link Encode#encode(String)} and writing the result to the file.</li>
+ *   <li><b>save</b> tasks by converting each task through
+ *       {@link Encode#encode(Task)} and writing the result to the file.</li>
  * </ul>
  * <p>
  * If the backing file does not exist when loading, this class attempts to create
  * the parent directories (if any) and an empty file at the configured path.
  * </p>
+ * <p>
+ * Completed tasks can be moved out of the working file into a compressed {@link Archive}
+ * stored next to it (e.g., {@code Barry.txt.archive}), which is only read on demand.
+ * </p>
+ * <p>
+ * Between {@link #beginBatch(int)} and {@link #endBatch()}, saves are deferred: the file is
+ * written every {@code n} saves (or never, if {@code n} is {@code 0}) and once more when
+ * the batch ends, so replaying many commands does not rewrite the file after each one.
+ * </p>
  */
 public class Storage {
     private final Path filePath;
 
+    private final Archive archive;
+
+    // Batch state, guarded by this
+    private int batchDepth = 0;
+    private int saveEvery = 0;
+    private int deferred = 0;
+    private TaskList pending = null;
+
     /**
      * Creates a {@code Storage} handler for the given file path.
      *
@@ -38,6 +60,7 @@ public class Storage {
      */
     public Storage(Path filePath) {
         this.filePath = filePath;
+        this.archive = new Archive(filePath.resolveSibling(filePath.getFileName() + ".archive"));
     }
 
     /**
@@ -46,6 +69,11 @@ public class Storage {
      * Ensures the data file exists (creating directories and an empty file if necessary),
      * then reads it line by line, decoding each record via {@link Decode#decode(String)}.
      * </p>
+     * <p>
+     * Completed records from before completion times were stored are stamped with the current
+     * time; the file is then rewritten once, so that the stamp, and with it the time left
+     * before the task is archived, survives restarts.
+     * </p>
      *
      * @return a {@link TaskList} populated with tasks decoded from the file
      * @throws BarryException if the file cannot be created/read or if a line is malformed
@@ -53,31 +81,133 @@ public class Storage {
     public TaskList load() throws BarryException {
         File f = filePath.toFile();
         ensureDataFileExists(f);
-        return readAllTasks(f);
+        TaskList list = new TaskList();
+        if (readAllTasks(f, list)) {
+            save(list);
+        }
+        return list;
     }
 
     /**
      * Saves the provided {@link TaskList} to the configured file, overwriting any existing content.
      * <p>
-     * Each task is first converted to the storage line format using {@link Encode#encode(String)},
-     * and the combined output is written atomically using a try-with-resources {@link FileWriter}.
-     * Errors are reported to standard output.
+     * Each task is first converted to the storage line format using {@link Encode#encode(Task)},
+     * and the combined output is written to a temporary file that then replaces the data file,
+     * so a failed write never leaves a partial file behind. Errors are reported to standard output.
+     * </p>
+     * <p>
+     * Saves are serialized, and each one takes its snapshot of {@code taskList} only once it
+     * holds the lock, so concurrent callers can never leave an older snapshot on disk.
+     * Inside a batch the write may be deferred (see {@link #beginBatch(int)}).
      * </p>
      *
      * @param taskList the tasks to be persisted
      */
-    public void save(TaskList taskList) {
-        String payload = taskList.listTasks().stream()
+    public synchronized void save(TaskList taskList) {
+        if (batchDepth > 0) {
+            pending = taskList;
+            deferred++;
+            if (saveEvery == 0 || deferred < saveEvery) {
+                return;
+            }
+            deferred = 0;
+            pending = null;
+        }
+        write(taskList);
+    }
+
+    /**
+     * Starts deferring saves until the matching {@link #endBatch()}.
+     * <p>
+     * Batches may be nested; only the outermost one's {@code saveEvery} applies, and the
+     * deferred save happens when it ends.
+     * </p>
+     *
+     * @param saveEvery write the file after this many deferred saves, or {@code 0} to
+     *                  write only when the batch ends
+     */
+    public synchronized void beginBatch(int saveEvery) {
+        if (batchDepth++ == 0) {
+            this.saveEvery = saveEvery;
+            this.deferred = 0;
+        }
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch(int)}, writing the file if the outermost
+     * batch ends with a save still deferred.
+     */
+    public synchronized void endBatch() {
+        assert batchDepth > 0 : "endBatch without beginBatch";
+        if (--batchDepth == 0 && pending != null) {
+            TaskList taskList = pending;
+            pending = null;
+            write(taskList);
+        }
+    }
+
+    private void write(TaskList taskList) {
+        try {
+            writeFile(taskList);
+        } catch (IOException e) {
+            System.out.println("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    private void writeFile(TaskList taskList) throws IOException {
+        String payload = taskList.getTasks().stream()
                 .map(Encode::encode)
                 .collect(Collectors.joining());
-        try {
-            File f = filePath.toFile();
-            FileWriter fw = new FileWriter(f);
+        Path temp = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try (FileWriter fw = new FileWriter(temp.toFile())) {
             fw.write(payload);
-            fw.close();
+        }
+        try {
+            Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Moves tasks completed before {@code cutoff} from the working list into the archive.
+     * <p>
+     * The tasks are appended to the archive first; only if that succeeds are they removed
+     * from {@code taskList} and the working file rewritten, so a failed archive write never
+     * loses tasks. If the working file cannot be rewritten, the tasks stay in it and are
+     * archived again next time, which {@link Archive} does without duplicating them.
+     * </p>
+     *
+     * @param taskList the working task list
+     * @param cutoff   tasks marked as done strictly before this time are archived
+     * @return the number of tasks moved to the archive
+     * @throws BarryException if the archive or the working file cannot be written
+     */
+    public synchronized int archiveCompleted(TaskList taskList, LocalDateTime cutoff) throws BarryException {
+        List<Task> stale = taskList.getTasks().stream()
+                .filter(t -> t.isDoneBefore(cutoff))
+                .collect(Collectors.toList());
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        try {
+            archive.append(stale);
+            taskList.removeCompletedBefore(cutoff);
+            writeFile(taskList);
         } catch (IOException e) {
-            System.out.println("Something went wrong: " + e.getMessage());
+            throw BarryException.archiveUnavailable();
         }
+        return stale.size();
+    }
+
+    /**
+     * Loads the archived tasks on demand.
+     *
+     * @return a {@link TaskList} holding every archived task
+     * @throws BarryException if the archive cannot be read
+     */
+    public TaskList loadArchive() throws BarryException {
+        return archive.load();
     }
 
     // ---- helpers ----
@@ -118,22 +248,24 @@ public class Storage {
     /**
      * Reads and decodes all tasks from the given file.
      *
-     * @param f the data file to read
-     * @return a {@link TaskList} containing all decoded tasks
+     * @param f    the data file to read
+     * @param list the list to add the decoded tasks to
+     * @return {@code true} if a completed record had no completion time and was stamped
      * @throws BarryException if the file cannot be found (unexpected after creation) or a line is invalid
      */
-    private static TaskList readAllTasks(File f) throws BarryException {
-        TaskList list = new TaskList();
+    private static boolean readAllTasks(File f, TaskList list) throws BarryException {
+        boolean isStamped = false;
         try (Scanner s = new Scanner(f)) {
             while (s.hasNextLine()) {
                 String line = s.nextLine();
                 Task t = Decode.decode(line);
+                isStamped |= t.isDone() && Decode.lacksDoneAt(line);
                 list.addTask(t);
             }
         } catch (FileNotFoundException e) {
             // Should not happen after ensureDataFileExists
             throw BarryException.invalidSourceFilePath();
         }
-        return list;
+        return isStamped;
     }
 }
@@ -30,6 +30,23 @@ public class Deadline extends Task {
         this.dueAt = dueAt;
     }
 
+    private Deadline(Deadline other) {
+        super(other);
+        this.dueAt = other.dueAt;
+    }
+
+    @Override
+    protected Task copy() {
+        return new Deadline(this);
+    }
+
+    /**
+     * @return the due date and time of the deadline
+     */
+    public LocalDateTime getDueAt() {
+        return this.dueAt;
+    }
+
     /**
      * Returns a string representation of the deadline task,
      * showing its type, completion status, description,
@@ -37,6 +37,31 @@ public class Event extends Task {
         this.end = end;
     }
 
+    private Event(Event other) {
+        super(other);
+        this.start = other.start;
+        this.end = other.end;
+    }
+
+    @Override
+    protected Task copy() {
+        return new Event(this);
+    }
+
+    /**
+     * @return the starting date and time of the event
+     */
+    public LocalDateTime getStart() {
+        return this.start;
+    }
+
+    /**
+     * @return the ending date and time of the event
+     */
+    public LocalDateTime getEnd() {
+        return this.end;
+    }
+
     /**
      * Returns a string representation of the event, showing its type,
      * completion status, description, and time range.
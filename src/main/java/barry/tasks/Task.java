@@ -1,5 +1,8 @@
 package barry.tasks;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Represents a task with a description and a completion isDone.
  * <p>
@@ -10,6 +13,16 @@ package barry.tasks;
  */
 public class Task {
 
+    /**
+     * Source of process-unique task identifiers.
+     */
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    /**
+     * A process-unique identifier, shared by copies made through {@link #withIsDone(boolean)}.
+     */
+    private final long id;
+
     /**
      * The description of the task.
      */
@@ -21,6 +34,12 @@ public class Task {
      */
     private boolean isDone = false;
 
+    /**
+     * The time at which the task was last marked as done,
+     * or {@code null} if the task is not completed.
+     */
+    private LocalDateTime doneAt = null;
+
     /**
      * Creates a {@code Task} with the given description.
      * By default, the task is uncompleted.
@@ -28,9 +47,47 @@ public class Task {
      * @param description the description of the task
      */
     public Task(String description) {
+        this.id = NEXT_ID.getAndIncrement();
         this.description = description;
     }
 
+    /**
+     * Creates a copy of {@code other} with the same id, description, and completion state.
+     *
+     * @param other the task to copy
+     */
+    protected Task(Task other) {
+        this.id = other.id;
+        this.description = other.description;
+        this.isDone = other.isDone;
+        this.doneAt = other.doneAt;
+    }
+
+    /**
+     * Returns a copy of this task with the same id and state.
+     * Subclasses override this to preserve their own fields.
+     *
+     * @return a copy of this task
+     */
+    protected Task copy() {
+        return new Task(this);
+    }
+
+    /**
+     * Returns a copy of this task with the given completion status, leaving this task unchanged.
+     * <p>
+     * Used by {@code TaskList} so that snapshots handed out to readers never change underneath them.
+     * </p>
+     *
+     * @param isDone {@code true} for a completed copy, {@code false} for an uncompleted one
+     * @return the updated copy, sharing this task's id
+     */
+    public Task withIsDone(boolean isDone) {
+        Task t = copy();
+        t.setIsDone(isDone);
+        return t;
+    }
+
     /**
      * Updates the completion isDone of the task.
      *
@@ -38,9 +95,60 @@ public class Task {
      *               {@code false} to mark it as uncompleted
      */
     public void setIsDone(boolean isDone) {
+        if (isDone && !this.isDone) {
+            this.doneAt = LocalDateTime.now();
+        } else if (!isDone) {
+            this.doneAt = null;
+        }
         this.isDone = isDone;
     }
 
+    /**
+     * @return {@code true} if the task is completed, {@code false} otherwise
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    /**
+     * Overrides the completion time of a task that is already marked as done.
+     * <p>
+     * Used when restoring a task from storage so that its archiving age survives restarts.
+     * Has no effect on tasks that are not completed.
+     * </p>
+     *
+     * @param doneAt the time at which the task was completed
+     */
+    public void setDoneAt(LocalDateTime doneAt) {
+        if (this.isDone) {
+            this.doneAt = doneAt;
+        }
+    }
+
+    /**
+     * @return the time at which the task was completed, or {@code null} if it is not done
+     */
+    public LocalDateTime getDoneAt() {
+        return this.doneAt;
+    }
+
+    /**
+     * Returns whether this task was completed strictly before the given cutoff.
+     *
+     * @param cutoff the point in time to compare the completion time against
+     * @return {@code true} if the task is done and was completed before {@code cutoff}
+     */
+    public boolean isDoneBefore(LocalDateTime cutoff) {
+        return this.isDone && this.doneAt != null && this.doneAt.isBefore(cutoff);
+    }
+
+    /**
+     * @return the process-unique identifier of this task
+     */
+    public long getId() {
+        return this.id;
+    }
+
     /**
      * @return the string representation of the task's description
      */
@@ -19,6 +19,15 @@ public class Todo extends Task {
         super(description);
     }
 
+    private Todo(Todo other) {
+        super(other);
+    }
+
+    @Override
+    protected Task copy() {
+        return new Todo(this);
+    }
+
     /**
      * Returns a string representation of the to-do task, showing its type,
      * completion status, and description.
@@ -1,20 +1,43 @@
 package barry.ui;
 
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 
 import barry.data.common.CommandType;
 
 /**
- * Console-based user interface for rendering messages and task lists.
+ * Renders user-facing messages into an {@link Appendable}.
  * <p>
- * {@code Ui} prints framed output to standard out with a consistent style:
- * each message block is wrapped between lines of underscores and each line
- * is indented with a tab. Multi-line strings are re-indented so that line breaks
- * remain aligned.
+ * Every response of the application is produced by one method of {@code Ui}, which
+ * streams the lines of the message straight into the destination, with no intermediate
+ * lists or strings. The destination decides the style:
+ * </p>
+ * <ul>
+ *   <li><b>framed</b> – for the console: each message block is wrapped between lines of
+ *       underscores and each line is indented with a tab. Multi-line strings are re-indented
+ *       so that line breaks remain aligned, and the destination is flushed after every block
+ *       if it is {@link Flushable}.</li>
+ *   <li><b>plain</b> – for the GUI: the lines of a block are separated by {@code '\n'} and
+ *       the block is trimmed of leading and trailing whitespace.</li>
+ * </ul>
+ * <p>
+ * The default console {@code Ui} writes to a large {@link BufferedWriter} over the standard
+ * output file descriptor rather than {@link System#out}, which flushes on every line.
+ * Blocks printed from different threads are never interleaved.
  * </p>
  */
 public class Ui {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String SEPARATOR = "\t" + "_".repeat(50);
+
     private static final String name = """
             $$$$$$$\\
             $$  __$$\\
@@ -30,47 +53,79 @@ public class Ui {
 
     private static final String greeting = "Hello from Barry, what can I do for you?";
 
+    private final Appendable out;
+    private final boolean isFramed;
+
+    // State of the block being rendered
+    private boolean isFirstLine;
+    private boolean hasText;
+    // Plain style: whitespace held back until more text follows, so the block ends trimmed
+    private final StringBuilder pendingSpace = new StringBuilder();
+
     /**
-     * Prints the given lines inside a framed block with uniform indentation.
-     * <p>
-     * For each string in {@code strings}, all newline characters are replaced with
-     * {@code "\n\t"} to maintain indentation across lines. A separator line of 50
-     * underscores is printed before and after the block.
-     * </p>
+     * Creates a framed {@code Ui} that prints to standard output.
+     */
+    public Ui() {
+        this(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                Charset.defaultCharset()), BUFFER_SIZE), true);
+    }
+
+    /**
+     * Creates a {@code Ui} that renders into the given destination.
      *
-     * @param strings the lines to print, in order
+     * @param out      the destination of the output, e.g. a {@link java.io.Writer} or a
+     *                 {@link StringBuilder}
+     * @param isFramed {@code true} for the framed console style, {@code false} for plain text
      */
-    public void print(ArrayList<String> strings) {
-        System.out.println("\t" + "_".repeat(50));
-        for (String s : strings) {
-            // Replace all '\n' with '\n\t'
-            String formatted = s.replace("\n", "\n\t");
+    public Ui(Appendable out, boolean isFramed) {
+        this.out = out;
+        this.isFramed = isFramed;
+    }
 
-            // Format the first line
-            formatted = "\t" + formatted;
-            System.out.println(formatted);
+    /**
+     * Prints an already formatted message as one block.
+     *
+     * @param message the message; may span several lines
+     */
+    public synchronized void print(String message) {
+        begin();
+        line(message);
+        end();
+    }
 
-        }
-        System.out.println("\t" + "_".repeat(50));
+    /**
+     * Prints an error message as one block.
+     *
+     * @param message the description of the error
+     */
+    public synchronized void showError(String message) {
+        begin();
+        startLine();
+        text("OOPS!!! ");
+        text(message);
+        endLine();
+        end();
     }
 
     /**
-     * Prints the startup banner and greeting message.
+     * Prints the greeting message, preceded by the startup banner in the framed style.
      */
-    public void printGreetings() {
-        ArrayList<String> s = new ArrayList<>();
-        s.add(name);
-        s.add(greeting);
-        this.print(s);
+    public synchronized void printGreetings() {
+        begin();
+        if (isFramed) {
+            line(name);
+        }
+        line(greeting);
+        end();
     }
 
     /**
      * Prints a generic loading error message for data file access issues.
      */
-    public void showLoadingError() {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("Cannot access data file");
-        this.print(s);
+    public synchronized void showLoadingError() {
+        begin();
+        line("Cannot access data file");
+        end();
     }
 
     /**
@@ -79,12 +134,12 @@ public class Ui {
      * @param task the string representation of the added task
      * @param n    the total number of tasks after the addition
      */
-    public void printAddTask(String task, int n) {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("Got it. I've added this task:");
-        s.add("\t" + task);
-        s.add("Now you have " + n + (n > 1 ? " tasks " : " task ") + "in the list.");
-        this.print(s);
+    public synchronized void printAddTask(String task, int n) {
+        begin();
+        line("Got it. I've added this task:");
+        item(task);
+        line(count(n));
+        end();
     }
 
     /**
@@ -92,15 +147,43 @@ public class Ui {
      *
      * @param taskList the list of task strings to display
      */
-    public void printListTask(ArrayList<String> taskList) {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("Here are the tasks in your list:");
-        int i = 1;
-        for (String item : taskList) {
-            s.add("\t" + i + "." + item);
-            i++;
+    public synchronized void printListTask(ArrayList<String> taskList) {
+        begin();
+        line("Here are the tasks in your list:");
+        items(taskList, 1);
+        end();
+    }
+
+    /**
+     * Prints all tasks in a chosen order.
+     *
+     * @param taskList the list of task strings to display, already sorted and each prefixed
+     *                 with its position in the list (see {@link barry.data.TaskList#listTasks(barry.data.SortKey)})
+     * @param label    a human-readable name of the order (e.g., {@code "due date"})
+     */
+    public synchronized void printSortedTasks(ArrayList<String> taskList, String label) {
+        begin();
+        startLine();
+        text("Here are the tasks in your list, sorted by ");
+        text(label);
+        text(":");
+        endLine();
+        for (String task : taskList) {
+            item(task);
         }
-        this.print(s);
+        end();
+    }
+
+    /**
+     * Prints all archived tasks, numbered starting from 1.
+     *
+     * @param taskList the list of archived task strings to display
+     */
+    public synchronized void printArchivedTasks(ArrayList<String> taskList) {
+        begin();
+        line("Here are the tasks in your archive:");
+        items(taskList, 1);
+        end();
     }
 
     /**
@@ -109,15 +192,13 @@ public class Ui {
      * @param task   the string representation of the affected task
      * @param marked {@code true} if the task is now marked as done; {@code false} if unmarked
      */
-    public void printMarkTask(String task, boolean marked) {
-        String comment = marked
+    public synchronized void printMarkTask(String task, boolean marked) {
+        begin();
+        line(marked
                 ? "Nice! I've marked this task as done:"
-                : "Ok! I've marked this task as not done yet:";
-
-        ArrayList<String> s = new ArrayList<>();
-        s.add(comment);
-        s.add("\t" + task);
-        this.print(s);
+                : "Ok! I've marked this task as not done yet:");
+        item(task);
+        end();
     }
 
     /**
@@ -126,21 +207,21 @@ public class Ui {
      * @param task the string representation of the removed task
      * @param n    the total number of remaining tasks
      */
-    public void printDeleteTask(String task, int n) {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("Noted. I've removed this task:");
-        s.add("\t" + task);
-        s.add("Now you have " + n + (n > 1 ? " tasks " : " task ") + "in the list.");
-        this.print(s);
+    public synchronized void printDeleteTask(String task, int n) {
+        begin();
+        line("Noted. I've removed this task:");
+        item(task);
+        line(count(n));
+        end();
     }
 
     /**
      * Prints the goodbye message.
      */
-    public void printGoodbye() {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("Bye. Hope to see you again soon!");
-        this.print(s);
+    public synchronized void printGoodbye() {
+        begin();
+        line("Bye. Hope to see you again soon!");
+        end();
     }
 
     /**
@@ -149,11 +230,11 @@ public class Ui {
      * Uses {@link CommandType#allCommands()} to generate the content.
      * </p>
      */
-    public void printHelp() {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("The command must start with one of these below:");
-        s.add(CommandType.allCommands());
-        this.print(s);
+    public synchronized void printHelp() {
+        begin();
+        line("The command must start with one of these below:");
+        line(CommandType.allCommands());
+        end();
     }
 
     /**
@@ -162,11 +243,11 @@ public class Ui {
      * Uses {@link CommandType#allCommandsDetailed()} to generate the content.
      * </p>
      */
-    public void printDetailedHelp() {
-        ArrayList<String> s = new ArrayList<>();
-        s.add("The command must have the formula as one of these below:");
-        s.add(CommandType.allCommandsDetailed());
-        this.print(s);
+    public synchronized void printDetailedHelp() {
+        begin();
+        line("The command must have the formula as one of these below:");
+        line(CommandType.allCommandsDetailed());
+        end();
     }
 
     /**
@@ -174,20 +255,42 @@ public class Ui {
      *
      * @param taskList the list of matching task strings
      */
-    public void printMatchingTasks(ArrayList<String> taskList) {
-        ArrayList<String> s = new ArrayList<>();
+    public synchronized void printMatchingTasks(ArrayList<String> taskList) {
+        begin();
         if (taskList.isEmpty()) {
-            s.add("Oops! There isn't any task match your search");
-            this.print(s);
-            return;
+            line("Oops! There isn't any task match your search");
+        } else {
+            line("Here are the matching tasks in your list:");
+            items(taskList, 1);
         }
-        s.add("Here are the matching tasks in your list:");
-        int i = 1;
-        for (String item : taskList) {
-            s.add("\t" + i + "." + item);
-            i++;
+        end();
+    }
+
+    /**
+     * Prints one page of a listing of tasks or of matching tasks.
+     * <p>
+     * The first page looks like {@link #printListTask(ArrayList)} or
+     * {@link #printMatchingTasks(ArrayList)}; later pages are headed by the range of rows they
+     * hold and continue the numbering.
+     * </p>
+     *
+     * @param taskList the task strings of the page
+     * @param offset   the number of tasks printed on earlier pages
+     * @param isSearch {@code true} if the tasks are the matches of a search
+     */
+    public synchronized void printTaskPage(ArrayList<String> taskList, int offset, boolean isSearch) {
+        begin();
+        if (offset == 0 && isSearch && taskList.isEmpty()) {
+            line("Oops! There isn't any task match your search");
+        } else if (offset == 0) {
+            line(isSearch ? "Here are the matching tasks in your list:" : "Here are the tasks in your list:");
+        } else if (taskList.isEmpty()) {
+            line("There are no more tasks to show.");
+        } else {
+            line("Tasks " + (offset + 1) + " to " + (offset + taskList.size()) + ":");
         }
-        this.print(s);
+        items(taskList, offset + 1);
+        end();
     }
 
     /**
@@ -197,23 +300,198 @@ public class Ui {
      * Alias names are sorted case-insensitively before printing to provide a
      * deterministic, easy-to-scan order.
      * </p>
-     * <p>
-     * If {@code aliases} is empty, an empty framed block is printed (no items).
-     * </p>
      *
      * @param aliases a mapping from alias names to their expansion templates
      */
-    public void printAliases(HashMap<String, String> aliases) {
-        ArrayList<String> lines = new ArrayList<>();
+    public synchronized void printAliases(HashMap<String, String> aliases) {
         ArrayList<String> keys = new ArrayList<>(aliases.keySet());
-        keys.sort(String.CASE_INSENSITIVE_ORDER); // or null for natural
-        lines.add("Here are your aliases, "
+        keys.sort(String.CASE_INSENSITIVE_ORDER);
+        begin();
+        line("Here are your aliases, "
                 + "{1} means the additional argument you need to type and "
                 + "${sun} means upcoming Sunday:");
         for (String key : keys) {
-            lines.add("\t" + key + " = " + aliases.get(key));
+            alias(key, aliases.get(key));
+        }
+        end();
+    }
+
+    /**
+     * Prints a confirmation message after adding or replacing an alias.
+     *
+     * @param name     the alias name
+     * @param template the template the alias now stands for
+     */
+    public synchronized void printAddAlias(String name, String template) {
+        begin();
+        line("Got it. I've added this alias:");
+        alias(name, template);
+        end();
+    }
+
+    /**
+     * Prints a confirmation message after removing an alias.
+     *
+     * @param name     the alias name
+     * @param template the template the alias stood for
+     */
+    public synchronized void printDeleteAlias(String name, String template) {
+        begin();
+        line("Noted. I've removed this alias:");
+        alias(name, template);
+        end();
+    }
+
+    /**
+     * Prints a summary of a script run, listing each failed command.
+     *
+     * @param script   the path of the script
+     * @param count    the number of commands run
+     * @param failures one message per failed command
+     */
+    public synchronized void printScriptSummary(String script, int count, ArrayList<String> failures) {
+        begin();
+        line("Ran " + count + (count == 1 ? " command" : " commands") + " from " + script + ": "
+                + (count - failures.size()) + " succeeded, " + failures.size() + " failed.");
+        for (String failure : failures) {
+            item(failure);
+        }
+        end();
+    }
+
+    private static String count(int n) {
+        return "Now you have " + n + (n > 1 ? " tasks " : " task ") + "in the list.";
+    }
+
+    /** Writes one line of text. */
+    private void line(String s) {
+        startLine();
+        text(s);
+        endLine();
+    }
+
+    /** Writes one line of text indented by a tab. */
+    private void item(String s) {
+        startLine();
+        text("\t");
+        text(s);
+        endLine();
+    }
+
+    /** Writes the tasks as indented lines numbered from {@code first}, e.g. {@code "\t1.[T][ ] read"}. */
+    private void items(ArrayList<String> tasks, int first) {
+        int i = first;
+        for (String task : tasks) {
+            startLine();
+            text("\t");
+            text(Integer.toString(i));
+            text(".");
+            text(task);
+            endLine();
+            i++;
+        }
+    }
+
+    /** Writes an alias as an indented {@code name = template} line. */
+    private void alias(String name, String template) {
+        startLine();
+        text("\t");
+        text(name);
+        text(" = ");
+        text(template);
+        endLine();
+    }
+
+    private void begin() {
+        isFirstLine = true;
+        hasText = false;
+        pendingSpace.setLength(0);
+        if (isFramed) {
+            raw(SEPARATOR);
+            raw(System.lineSeparator());
+        }
+    }
+
+    private void startLine() {
+        if (isFramed) {
+            raw("\t");
+        } else if (!isFirstLine) {
+            text("\n");
+        }
+        isFirstLine = false;
+    }
+
+    private void endLine() {
+        if (isFramed) {
+            raw(System.lineSeparator());
         }
-        this.print(lines);
     }
 
+    private void end() {
+        if (isFramed) {
+            raw(SEPARATOR);
+            raw(System.lineSeparator());
+            if (out instanceof Flushable) {
+                try {
+                    ((Flushable) out).flush();
+                } catch (IOException e) {
+                    // The destination is closed; like System.out, drop the output
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes text within a line: in the framed style every line break is followed by a tab;
+     * in the plain style leading and trailing whitespace of the block is dropped.
+     */
+    private void text(String s) {
+        if (isFramed) {
+            int from = 0;
+            int end;
+            while ((end = s.indexOf('\n', from)) >= 0) {
+                raw(s, from, end + 1);
+                raw("\t");
+                from = end + 1;
+            }
+            raw(s, from, s.length());
+            return;
+        }
+
+        // Same notion of whitespace as String.trim()
+        int last = s.length() - 1;
+        while (last >= 0 && s.charAt(last) <= ' ') {
+            last--;
+        }
+        if (last < 0) {
+            if (hasText) {
+                pendingSpace.append(s);
+            }
+            return;
+        }
+        int first = 0;
+        if (hasText) {
+            raw(pendingSpace, 0, pendingSpace.length());
+            pendingSpace.setLength(0);
+        } else {
+            while (s.charAt(first) <= ' ') {
+                first++;
+            }
+        }
+        raw(s, first, last + 1);
+        pendingSpace.append(s, last + 1, s.length());
+        hasText = true;
+    }
+
+    private void raw(CharSequence s) {
+        raw(s, 0, s.length());
+    }
+
+    private void raw(CharSequence s, int start, int end) {
+        try {
+            out.append(s, start, end);
+        } catch (IOException e) {
+            // The destination is closed; like System.out, drop the output
+        }
+    }
 }
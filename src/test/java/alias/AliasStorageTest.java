@@ -0,0 +1,27 @@
+package alias;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import barry.alias.AliasStorage;
+
+public class AliasStorageTest {
+
+    @Test
+    void load_aliasNamedAfterBuiltin_ignored() throws IOException {
+        Path rc = Files.createTempDirectory("barry").resolve(".barryrc");
+        Files.writeString(rc, "alias find='find {1} --archived'\nalias LIST='todo {1}'\nalias ls='list'\n");
+        AliasStorage storage = new AliasStorage(rc);
+        storage.load();
+
+        assertNull(storage.get("find"));
+        assertNull(storage.get("list"));
+        assertEquals("list", storage.get("ls"));
+    }
+}
@@ -0,0 +1,80 @@
+package alias;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import barry.alias.AliasStorage;
+import barry.alias.AliasTemplate;
+
+public class AliasTemplateTest {
+
+    private static String expand(String template, String args) {
+        AliasTemplate t = AliasTemplate.compile(template);
+        StringBuilder out = new StringBuilder();
+        t.expandInto(out, t.bind(args), args, name -> name.equals("x") ? "X" : null);
+        return out.toString();
+    }
+
+    @Test
+    void single_slot_takes_remainder() {
+        assertEquals("todo read a book", expand("todo {1}", "read a book"));
+    }
+
+    @Test
+    void last_slot_takes_remainder() {
+        assertEquals("deadline submit report /by 30/09/2025 23:59",
+                expand("deadline {2} /by {1} 23:59", "30/09/2025 submit report"));
+    }
+
+    @Test
+    void rest_and_macros() {
+        assertEquals("find a b X ${y} {0}", expand("find {*} ${x} ${y} {0}", "a b"));
+    }
+
+    @Test
+    void too_few_params() {
+        assertNull(AliasTemplate.compile("event {1} /from {2} /to {3}").bind("a b"));
+    }
+
+    @Test
+    void chained_aliases_flattened() {
+        AliasStorage storage = new AliasStorage();
+        storage.put("dl", "deadline {2} /by {1}");
+        storage.put("dlx", "dl ${x} {*}");
+        storage.put("dly", "DLX   {1}  ");
+        AliasTemplate t = storage.getCompiled("dly");
+        StringBuilder out = new StringBuilder();
+        t.expandInto(out, t.bind("read  a book"), "read  a book", name -> "X");
+        assertEquals("deadline read  a book /by X", out.toString());
+    }
+
+    @Test
+    void alias_named_after_builtin_runs_builtin() {
+        AliasStorage storage = new AliasStorage();
+        storage.put("find", "find {1}");
+        AliasTemplate t = storage.getCompiled("find");
+        assertNull(t.getError());
+        StringBuilder out = new StringBuilder();
+        t.expandInto(out, t.bind("book"), "book", name -> null);
+        assertEquals("find book", out.toString());
+    }
+
+    @Test
+    void cyclic_aliases_broken() {
+        AliasStorage storage = new AliasStorage();
+        storage.put("a", "b {1}");
+        storage.put("b", "c {1}");
+        storage.put("c", "a {1}");
+        storage.put("d", "b");
+        storage.put("e", "dl");
+        storage.put("dl", "deadline {2} /by {1}");
+        storage.put("f", "dl x");
+        assertNotNull(storage.getCompiled("a").getError());
+        assertNotNull(storage.getCompiled("d").getError());
+        assertNull(storage.getCompiled("e").getError());
+        assertNotNull(storage.getCompiled("f").getError());
+    }
+}
@@ -0,0 +1,63 @@
+package alias;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import barry.alias.DateMacros;
+
+public class DateMacrosTest {
+
+    /** A clock that tests can move forward. */
+    private static final class TestClock extends Clock {
+        private Instant now;
+
+        private TestClock(String instant) {
+            this.now = Instant.parse(instant);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void builtins_ok() {
+        // Wednesday
+        DateMacros macros = new DateMacros(new TestClock("2025-09-17T10:00:00Z"));
+        assertEquals("17/09/2025 23:59", macros.resolve("today"));
+        assertEquals("18/09/2025 23:59", macros.resolve("tomorrow"));
+        assertEquals("21/09/2025 23:59", macros.resolve("eow"));
+        assertEquals("21/09/2025 23:59", macros.resolve("sun"));
+        assertEquals("30/09/2025 23:59", macros.resolve("eom"));
+        assertEquals("20/09/2025 23:59", macros.resolve("+3d"));
+        assertNull(macros.resolve("+d"));
+        assertNull(macros.resolve("yesterday"));
+    }
+
+    @Test
+    void cache_rolls_over_at_midnight() {
+        TestClock clock = new TestClock("2025-09-21T23:59:00Z");
+        DateMacros macros = new DateMacros(clock);
+        assertEquals("21/09/2025 23:59", macros.resolve("eow"));
+        clock.now = Instant.parse("2025-09-22T00:00:00Z");
+        assertEquals("28/09/2025 23:59", macros.resolve("eow"));
+    }
+}
@@ -0,0 +1,46 @@
+package commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import barry.commands.ListTasks;
+import barry.commands.MarkTask;
+import barry.data.SortKey;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.storage.Storage;
+import barry.tasks.Deadline;
+import barry.tasks.Todo;
+import barry.ui.Ui;
+
+public class ListTasksTest {
+
+    @Test
+    void sorted_markByShownNumber_marksShownTask() throws BarryException, IOException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Deadline("return book", LocalDateTime.of(2025, 9, 1, 12, 0)));
+
+        StringBuilder out = new StringBuilder();
+        new ListTasks(SortKey.DUE).execute(taskList, new Ui(out, false), null);
+        String[] lines = out.toString().split("\n");
+        assertEquals("Here are the tasks in your list, sorted by due date:", lines[0]);
+        // The deadline is listed first, under its position in the list
+        assertTrue(lines[1].contains("return book"));
+        int shown = Integer.parseInt(lines[1].trim().substring(0, lines[1].trim().indexOf('.')));
+        assertEquals(2, shown);
+
+        Storage storage = new Storage(Files.createTempDirectory("barry").resolve("Barry.txt"));
+        new MarkTask(shown, true).execute(taskList, new Ui(new StringBuilder(), false), storage);
+
+        assertTrue(taskList.getTasks().get(1).isDone());
+        assertFalse(taskList.getTasks().get(0).isDone());
+    }
+}
@@ -0,0 +1,98 @@
+package commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import barry.Barry;
+import barry.commands.FindTask;
+import barry.commands.ListTasks;
+import barry.commands.PagedResponse;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.tasks.Todo;
+import barry.ui.Ui;
+
+public class PagedResponseTest {
+
+    @Test
+    void list_singlePage_sameAsExecute() throws BarryException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Todo("return book"));
+
+        StringBuilder whole = new StringBuilder();
+        new ListTasks().execute(taskList, new Ui(whole, false), null);
+        PagedResponse paged = new ListTasks().paged(taskList, 500);
+
+        assertEquals(whole.toString(), paged.next());
+        assertFalse(paged.hasNext());
+    }
+
+    @Test
+    void list_manyPages_numberingContinues() {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+        PagedResponse paged = new ListTasks().paged(taskList, 2);
+
+        assertEquals("Here are the tasks in your list:\n\t1.[T][ ] task 1\n\t2.[T][ ] task 2", paged.next());
+        assertEquals("Tasks 3 to 4:\n\t3.[T][ ] task 3\n\t4.[T][ ] task 4", paged.next());
+        assertEquals("Tasks 5 to 5:\n\t5.[T][ ] task 5", paged.next());
+        assertFalse(paged.hasNext());
+    }
+
+    @Test
+    void find_lastMatchOnPage_noNextPage() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Todo("bake cake"));
+        taskList.addTask(new Todo("return book"));
+        taskList.addTask(new Todo("wash car"));
+        taskList.addTask(new Todo("wash dog"));
+        PagedResponse paged = new FindTask("book").paged(taskList, 2);
+
+        paged.next();
+        assertFalse(paged.hasNext());
+    }
+
+    @Test
+    void find_matchAfterPage_nextPageHasIt() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Todo("return book"));
+        taskList.addTask(new Todo("bake cake"));
+        taskList.addTask(new Todo("sell book"));
+        PagedResponse paged = new FindTask("book").paged(taskList, 2);
+
+        paged.next();
+        assertTrue(paged.hasNext());
+        assertTrue(paged.next().contains("sell book"));
+        assertFalse(paged.hasNext());
+    }
+
+    @Test
+    void find_noMatches_oopsMessage() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+        PagedResponse paged = new FindTask("cake").paged(taskList, 2);
+
+        assertTrue(paged.hasNext());
+        assertEquals("Oops! There isn't any task match your search", paged.next());
+        assertFalse(paged.hasNext());
+    }
+
+    @Test
+    void bye_isExit() throws IOException, BarryException {
+        Barry barry = new Barry(Files.createTempDirectory("barry").resolve("Barry.txt"));
+
+        assertTrue(barry.getPagedResponse("bye", 500).isExit());
+        assertFalse(barry.getPagedResponse("list", 500).isExit());
+    }
+}
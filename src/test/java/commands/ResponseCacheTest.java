@@ -0,0 +1,38 @@
+package commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import barry.commands.ListTasks;
+import barry.commands.ResponseCache;
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.tasks.Todo;
+import barry.ui.Ui;
+
+public class ResponseCacheTest {
+
+    @Test
+    void readOnly_repeated_servedFromCache() throws BarryException {
+        ResponseCache cache = new ResponseCache();
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("read book"));
+
+        String first = cache.execute(new ListTasks(), taskList, null);
+        assertSame(first, cache.execute(new ListTasks(), taskList, null));
+    }
+
+    @Test
+    void readOnly_afterMutation_recomputed() throws BarryException {
+        ResponseCache cache = new ResponseCache();
+        TaskList taskList = new TaskList();
+
+        cache.execute(new ListTasks(), taskList, null);
+        taskList.addTask(new Todo("read book"));
+        StringBuilder expected = new StringBuilder();
+        new ListTasks().execute(taskList, new Ui(expected, false), null);
+        assertEquals(expected.toString(), cache.execute(new ListTasks(), taskList, null));
+    }
+}
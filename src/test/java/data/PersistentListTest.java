@@ -0,0 +1,78 @@
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import barry.data.PersistentList;
+
+public class PersistentListTest {
+
+    @Test
+    void append_get_ok() {
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < 100; i++) {
+            list = list.append(i);
+        }
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+
+    @Test
+    void old_version_unchanged() {
+        PersistentList<String> v1 = PersistentList.of(List.of("a", "b", "c"));
+        PersistentList<String> v2 = v1.update(1, "x").delete(0).append("d");
+        assertEquals(List.of("a", "b", "c"), v1);
+        assertEquals(List.of("x", "c", "d"), v2);
+    }
+
+    @Test
+    void matches_array_list_under_random_edits() {
+        Random rnd = new Random(42);
+        ArrayList<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> actual = PersistentList.empty();
+        for (int step = 0; step < 2000; step++) {
+            int op = rnd.nextInt(3);
+            if (op == 0 || expected.isEmpty()) {
+                int at = rnd.nextInt(expected.size() + 1);
+                expected.add(at, step);
+                actual = actual.insert(at, step);
+            } else if (op == 1) {
+                int at = rnd.nextInt(expected.size());
+                expected.remove(at);
+                actual = actual.delete(at);
+            } else {
+                int at = rnd.nextInt(expected.size());
+                expected.set(at, -step);
+                actual = actual.update(at, -step);
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void iterator_from_index() {
+        PersistentList<Integer> list = PersistentList.of(List.of(0, 1, 2, 3, 4, 5, 6));
+        Iterator<Integer> it = list.iterator(4);
+        assertEquals(4, it.next());
+        assertEquals(5, it.next());
+        assertEquals(6, it.next());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    void out_of_range_throws() {
+        PersistentList<Integer> list = PersistentList.of(List.of(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.delete(-1));
+    }
+}
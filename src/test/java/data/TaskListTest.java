@@ -0,0 +1,58 @@
+package data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.tasks.Task;
+import barry.tasks.Todo;
+
+public class TaskListTest {
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    private static Task doneAt(String description, LocalDateTime doneAt) {
+        Task t = new Todo(description);
+        t.setIsDone(true);
+        t.setDoneAt(doneAt);
+        return t;
+    }
+
+    @Test
+    void removeCompletedBefore_removesOnlyOlderCompletions() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(doneAt("old 1", CUTOFF.minusDays(40)));
+        taskList.addTask(new Todo("open"));
+        taskList.addTask(doneAt("recent", CUTOFF.plusDays(1)));
+        taskList.addTask(doneAt("old 2", CUTOFF.minusMinutes(1)));
+
+        assertEquals(2, taskList.removeCompletedBefore(CUTOFF));
+        assertEquals(List.of("[T][ ] open", "[T][X] recent"), taskList.listTasks());
+    }
+
+    @Test
+    void deleteTask_returnsRemovedTaskAndCountLeft() throws BarryException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("a"));
+        taskList.addTask(new Todo("b"));
+
+        TaskList.Deletion deletion = taskList.deleteTask(0);
+        assertEquals("[T][ ] a", deletion.getTask());
+        assertEquals(1, deletion.getRemaining());
+    }
+
+    @Test
+    void deleteTask_outOfRange_taskNotFoundWithCurrentSize() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("a"));
+
+        BarryException e = assertThrows(BarryException.class, () -> taskList.deleteTask(1));
+        assertEquals(BarryException.taskNotFound(1).getMessage(), e.getMessage());
+        assertEquals(1, taskList.size());
+    }
+}
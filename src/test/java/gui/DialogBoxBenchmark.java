@@ -0,0 +1,109 @@
+package gui;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import barry.javafx.DialogBox;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures how long it takes to create a chat bubble, by loading the former
+ * {@code DialogBox.fxml} for every bubble and by building {@link DialogBox} in code.
+ * <p>
+ * Run with {@code ./gradlew benchmarkDialogBox}. It needs a display, so it is not part of
+ * the test suite. Only construction is timed; CSS and layout happen later and cost the
+ * same either way.
+ * </p>
+ */
+public final class DialogBoxBenchmark {
+    private static final int WARMUP = 500;
+    private static final int RUNS = 5;
+    private static final int BUBBLES = 2000;
+
+    private DialogBoxBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        // Nodes must be created on the JavaFX Application Thread
+        Platform.startup(() -> {
+            try {
+                Image avatar = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/DaBarry.png"));
+                report("FXML", () -> new FxmlBubble("Hello from Barry", avatar));
+                report("programmatic", () -> DialogBox.getBarryDialog("Hello from Barry", avatar));
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void report(String name, Supplier<Node> bubble) {
+        measure(bubble, WARMUP);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            best = Math.min(best, measure(bubble, BUBBLES));
+        }
+        System.out.printf("%-12s %8.1f us/bubble%n", name, best / 1000.0 / BUBBLES);
+    }
+
+    /**
+     * Returns the nanoseconds taken to create {@code n} bubbles.
+     */
+    private static long measure(Supplier<Node> bubble, int n) {
+        int created = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            // Use the result, so that the work is not optimized away
+            created += bubble.get() == null ? 0 : 1;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (created != n) {
+            throw new IllegalStateException("Bubble not created");
+        }
+        return elapsed;
+    }
+
+    /**
+     * A Barry bubble built the way {@link DialogBox} used to be: from {@code /view/DialogBox.fxml}.
+     */
+    private static final class FxmlBubble extends HBox {
+        @FXML
+        private Label dialog;
+
+        @FXML
+        private ImageView displayPicture;
+
+        FxmlBubble(String text, Image img) {
+            FXMLLoader fxmlLoader = new FXMLLoader(DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml"));
+            fxmlLoader.setController(this);
+            fxmlLoader.setRoot(this);
+            try {
+                fxmlLoader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dialog.setText(text);
+            displayPicture.setImage(img);
+            dialog.getStyleClass().add("reply-label");
+            ObservableList<Node> nodes = FXCollections.observableArrayList(getChildren());
+            Collections.reverse(nodes);
+            getChildren().setAll(nodes);
+            setAlignment(Pos.TOP_LEFT);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import barry.commands.FindTask;
 import barry.commands.HelpCommand;
 import barry.commands.ListTasks;
 import barry.commands.MarkTask;
+import barry.data.SortKey;
 import barry.data.exceptions.BarryException;
 import barry.parser.CommandParser;
 import barry.tasks.Deadline;
@@ -74,6 +75,21 @@ public class CommandParserTest {
         assertEquals(new ListTasks(), parser.parseCommand("list"));
     }
 
+    @Test
+    void list_archived_ok() throws BarryException {
+        assertEquals(new ListTasks(true), parser.parseCommand("list --archived"));
+    }
+
+    @Test
+    void list_sorted_ok() throws BarryException {
+        assertEquals(new ListTasks(SortKey.DUE), parser.parseCommand("list --sort due"));
+    }
+
+    @Test
+    void find_archived_ok() throws BarryException {
+        assertEquals(new FindTask("book", true), parser.parseCommand("find --archived book"));
+    }
+
     @Test
     void help_ok() throws BarryException {
         assertEquals(new HelpCommand(false), parser.parseCommand("help"));
@@ -153,4 +169,12 @@ public class CommandParserTest {
                 ) -> parser.parseCommand("blah"));
         assertEquals("Invalid command, Type 'help' or 'help --details' for more information", ex.getMessage());
     }
+
+    @Test
+    void mistyped_cmd_suggests() {
+        BarryException ex = assertThrows(BarryException.class, (
+                ) -> parser.parseCommand("dealine report /by 29/08/2025 16:00"));
+        assertEquals("Unknown command 'dealine'. Did you mean 'deadline'?\n"
+                + "Type 'help' or 'help --details' for more information about the valid commands", ex.getMessage());
+    }
 }
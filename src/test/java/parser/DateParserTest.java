@@ -0,0 +1,54 @@
+package parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import barry.parser.DateParser;
+
+public class DateParserTest {
+
+    // Wednesday, 27 Aug 2025, 10:30
+    private final DateParser parser = new DateParser(Clock.fixed(Instant.parse("2025-08-27T10:30:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void strict_ok() {
+        assertEquals(LocalDateTime.of(2025, 8, 30, 16, 0), parser.parse("30/08/2025 16:00"));
+    }
+
+    @Test
+    void relativeDays_ok() {
+        assertEquals(LocalDateTime.of(2025, 8, 28, 17, 0), parser.parse("tomorrow 17:00"));
+        assertEquals(LocalDateTime.of(2025, 8, 29, 9, 0), parser.parse("Fri 9am"));
+        assertEquals(LocalDateTime.of(2025, 9, 1, 23, 59), parser.parse("next mon"));
+        assertEquals(LocalDateTime.of(2025, 9, 3, 23, 59), parser.parse("next wed"));
+        assertEquals(LocalDateTime.of(2025, 8, 27, 23, 59), parser.parse("wed"));
+    }
+
+    @Test
+    void timeOnly_nextOccurrence() {
+        assertEquals(LocalDateTime.of(2025, 8, 27, 12, 0), parser.parse("noon"));
+        assertEquals(LocalDateTime.of(2025, 8, 28, 9, 15), parser.parse("9:15am"));
+    }
+
+    @Test
+    void amounts_ok() {
+        assertEquals(LocalDateTime.of(2025, 8, 27, 13, 30), parser.parse("in 3h"));
+        assertEquals(LocalDateTime.of(2025, 8, 29, 10, 30), parser.parse("in 2 days"));
+    }
+
+    @Test
+    void invalid_null() {
+        assertNull(parser.parse("someday"));
+        assertNull(parser.parse("tomorrow 25:00"));
+        assertNull(parser.parse("in 3 fortnights"));
+        assertNull(parser.parse("13pm"));
+        assertNull(parser.parse("30-08-2025 16:00"));
+    }
+}
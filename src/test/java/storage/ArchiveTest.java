@@ -0,0 +1,55 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import barry.data.TaskList;
+import barry.data.exceptions.BarryException;
+import barry.storage.Archive;
+import barry.tasks.Task;
+import barry.tasks.Todo;
+
+public class ArchiveTest {
+
+    private static Task done(String description, int day) {
+        Task t = new Todo(description);
+        t.setIsDone(true);
+        t.setDoneAt(LocalDateTime.of(2025, 9, day, 9, 30));
+        return t;
+    }
+
+    @Test
+    void append_severalMembers_loadedInOrder() throws IOException, BarryException {
+        Path dir = Files.createTempDirectory("barry");
+        Archive archive = new Archive(dir.resolve("Barry.txt.archive"));
+        archive.append(List.of(done("a", 1), done("b", 2)));
+        archive.append(List.of(done("c", 3)));
+
+        TaskList loaded = archive.load();
+        assertEquals(List.of("[T][X] a", "[T][X] b", "[T][X] c"), loaded.listTasks());
+        assertEquals(LocalDateTime.of(2025, 9, 3, 9, 30), loaded.getTasks().get(2).getDoneAt());
+    }
+
+    @Test
+    void append_alreadyArchived_notDuplicated() throws IOException, BarryException {
+        Path dir = Files.createTempDirectory("barry");
+        Archive archive = new Archive(dir.resolve("Barry.txt.archive"));
+        archive.append(List.of(done("a", 1)));
+        archive.append(List.of(done("a", 1), done("b", 2)));
+
+        assertEquals(List.of("[T][X] a", "[T][X] b"), archive.load().listTasks());
+    }
+
+    @Test
+    void load_missingFile_empty() throws IOException, BarryException {
+        Path dir = Files.createTempDirectory("barry");
+        assertEquals(0, new Archive(dir.resolve("none.archive")).load().size());
+    }
+}
@@ -0,0 +1,88 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import barry.data.exceptions.BarryException;
+import barry.storage.Decode;
+import barry.storage.Encode;
+import barry.tasks.Deadline;
+import barry.tasks.Event;
+import barry.tasks.Task;
+import barry.tasks.Todo;
+
+public class EncodeDecodeTest {
+    private static final String NL = System.lineSeparator();
+    private static final LocalDateTime DONE_AT = LocalDateTime.of(2025, 9, 1, 9, 30);
+
+    private static Task done(Task t) {
+        t.setIsDone(true);
+        t.setDoneAt(DONE_AT);
+        return t;
+    }
+
+    private static void assertRoundTrip(Task t) throws BarryException {
+        String line = Encode.encode(t);
+        Task decoded = Decode.decode(line.strip());
+        assertEquals(t.toString(), decoded.toString());
+        assertEquals(t.getDoneAt(), decoded.getDoneAt());
+        assertEquals(line, Encode.encode(decoded));
+    }
+
+    @Test
+    void encode_notDone_noCompletionField() {
+        Task t = new Deadline("iP", LocalDateTime.of(2025, 8, 30, 16, 0));
+        assertEquals("D | 0 | iP | 30/08/2025 16:00" + NL, Encode.encode(t));
+    }
+
+    @Test
+    void encode_done_completionFieldAppended() {
+        assertEquals("T | 1 | read book | 01/09/2025 09:30" + NL, Encode.encode(done(new Todo("read book"))));
+    }
+
+    @Test
+    void roundTrip_notDone() throws BarryException {
+        assertRoundTrip(new Todo("read book"));
+        assertRoundTrip(new Deadline("iP", LocalDateTime.of(2025, 8, 30, 16, 0)));
+        assertRoundTrip(new Event("Splashdown", LocalDateTime.of(2025, 8, 27, 18, 0),
+                LocalDateTime.of(2025, 8, 27, 21, 0)));
+    }
+
+    @Test
+    void roundTrip_done_completionTimeKept() throws BarryException {
+        assertRoundTrip(done(new Todo("read book")));
+        assertRoundTrip(done(new Deadline("iP", LocalDateTime.of(2025, 8, 30, 16, 0))));
+        assertRoundTrip(done(new Event("Splashdown", LocalDateTime.of(2025, 8, 27, 18, 0),
+                LocalDateTime.of(2025, 8, 27, 21, 0))));
+    }
+
+    @Test
+    void decode_doneWithoutCompletionField_stampedNow() throws BarryException {
+        String[] legacy = {
+            "T | 1 | read book",
+            "D | 1 | iP | 30/08/2025 16:00",
+            "E | 1 | Splashdown | 27/08/2025 18:00 | 27/08/2025 21:00",
+        };
+        for (String line : legacy) {
+            LocalDateTime before = LocalDateTime.now();
+            Task t = Decode.decode(line);
+            assertTrue(t.isDone());
+            assertFalse(t.getDoneAt().isBefore(before));
+            assertTrue(Decode.lacksDoneAt(line));
+        }
+    }
+
+    @Test
+    void lacksDoneAt_completionFieldOrNotDone_false() throws BarryException {
+        assertFalse(Decode.lacksDoneAt("T | 1 | read book | 01/09/2025 09:30"));
+        assertFalse(Decode.lacksDoneAt("E | 1 | Splashdown | 27/08/2025 18:00 | 27/08/2025 21:00 | 01/09/2025 09:30"));
+        assertFalse(Decode.lacksDoneAt("D | 0 | iP | 30/08/2025 16:00"));
+        assertNull(Decode.decode("D | 0 | iP | 30/08/2025 16:00").getDoneAt());
+    }
+}
@@ -0,0 +1,41 @@
+package tasks;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import barry.tasks.Task;
+import barry.tasks.Todo;
+
+public class TaskTest {
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+    @Test
+    void isDoneBefore_notDone_false() {
+        assertFalse(new Todo("read book").isDoneBefore(CUTOFF));
+    }
+
+    @Test
+    void isDoneBefore_comparesCompletionTime() {
+        Task t = new Todo("read book");
+        t.setIsDone(true);
+        t.setDoneAt(CUTOFF.minusMinutes(1));
+        assertTrue(t.isDoneBefore(CUTOFF));
+        t.setDoneAt(CUTOFF);
+        assertFalse(t.isDoneBefore(CUTOFF));
+    }
+
+    @Test
+    void setIsDone_false_clearsCompletionTime() {
+        Task t = new Todo("read book");
+        t.setIsDone(true);
+        t.setDoneAt(CUTOFF.minusDays(40));
+        t.setIsDone(false);
+        assertNull(t.getDoneAt());
+        assertFalse(t.isDoneBefore(CUTOFF));
+    }
+}